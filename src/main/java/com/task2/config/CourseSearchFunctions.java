@@ -0,0 +1,96 @@
+package com.task2.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.query.ReturnableType;
+import org.hibernate.query.sqm.function.AbstractSqmSelfRenderingFunctionDescriptor;
+import org.hibernate.query.sqm.produce.function.StandardArgumentsValidators;
+import org.hibernate.query.sqm.produce.function.StandardFunctionArgumentTypeResolvers;
+import org.hibernate.query.sqm.produce.function.StandardFunctionReturnTypeResolvers;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+import org.hibernate.sql.ast.tree.expression.ColumnReference;
+import org.hibernate.sql.ast.tree.expression.Expression;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.util.List;
+
+/**
+ * Registers the PostgreSQL full-text search operators as HQL functions, since HQL has no syntax for {@code @@}.
+ * Both take the ID of a course and the search text, which is parsed like a web search: words are ANDed,
+ * {@code "quoted phrases"}, {@code or} and {@code -excluded} words are supported. The {@code search_vector} column
+ * of the table the ID belongs to is rendered straight into the SQL, so it is not mapped on the entity and never
+ * loaded with it. Registered through {@code META-INF/services}.
+ */
+public class CourseSearchFunctions implements FunctionContributor {
+
+    /**
+     * Text search configuration of the {@code courses.search_vector} column; the query must be parsed with the same one.
+     */
+    public static final String TEXT_SEARCH_CONFIG = "english";
+
+    /**
+     * {@code search_match(course.id, text)}: true if the course matches the search text; served by the GIN index.
+     */
+    public static final String MATCH = "search_match";
+
+    /**
+     * {@code search_rank(course.id, text)}: relevance of the course for the search text, higher is better. Widened to
+     * double precision, which is exact, so a rank read back from a keyset token compares equal to the one in the database.
+     */
+    public static final String RANK = "search_rank";
+
+    private static final String VECTOR_COLUMN = "search_vector";
+    private static final String QUERY = "websearch_to_tsquery('" + TEXT_SEARCH_CONFIG + "', ";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        functionContributions.getFunctionRegistry().register(MATCH,
+                new SearchFunction(MATCH, "(", " @@ ", ")", types.resolve(StandardBasicTypes.BOOLEAN)));
+        functionContributions.getFunctionRegistry().register(RANK,
+                new SearchFunction(RANK, "cast(ts_rank(", ", ", ") as float8)", types.resolve(StandardBasicTypes.DOUBLE)));
+    }
+
+    /**
+     * Renders {@code prefix <alias>.search_vector infix websearch_to_tsquery(config, text) suffix}, taking the alias
+     * from the course ID column given as the first argument.
+     */
+    private static class SearchFunction extends AbstractSqmSelfRenderingFunctionDescriptor {
+
+        private final String prefix;
+        private final String infix;
+        private final String suffix;
+
+        SearchFunction(String name, String prefix, String infix, String suffix, BasicType<?> returnType) {
+            super(name, StandardArgumentsValidators.exactly(2), StandardFunctionReturnTypeResolvers.invariant(returnType),
+                    StandardFunctionArgumentTypeResolvers.NULL);
+            this.prefix = prefix;
+            this.infix = infix;
+            this.suffix = suffix;
+        }
+
+        @Override
+        public void render(SqlAppender sqlAppender, List<? extends SqlAstNode> sqlAstArguments, ReturnableType<?> returnType,
+                           SqlAstTranslator<?> walker) {
+            ColumnReference courseId = ((Expression) sqlAstArguments.get(0)).getColumnReference();
+            if (courseId == null) {
+                throw new IllegalArgumentException(getName() + " expects the ID column of a course as its first argument");
+            }
+            sqlAppender.append(prefix);
+            if (courseId.getQualifier() != null) {
+                sqlAppender.append(courseId.getQualifier());
+                sqlAppender.append('.');
+            }
+            sqlAppender.append(VECTOR_COLUMN);
+            sqlAppender.append(infix);
+            sqlAppender.append(QUERY);
+            sqlAstArguments.get(1).accept(walker);
+            sqlAppender.append(')');
+            sqlAppender.append(suffix);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.task2.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableScheduling
+public class ExecutorConfig {
+
+    /**
+     * Runs asynchronous course uploads. Both the thread count and the queue are bounded,
+     * further submissions are rejected until a slot frees up.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor uploadJobExecutor(@Value("${app.upload.jobs.threads:2}") int threads,
+                                                    @Value("${app.upload.jobs.queue-capacity:10}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("upload-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    /**
+     * Parses uploaded files, one thread per running upload. There is no queue: an upload that finds every
+     * thread busy is rejected, which bounds the number of uploads processed at once.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor uploadParserExecutor(@Value("${app.upload.pipeline.max-uploads:8}") int maxUploads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxUploads);
+        executor.setMaxPoolSize(maxUploads);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("upload-parser-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    /**
+     * Validates uploaded courses for all uploads together; each upload submits
+     * {@code app.upload.pipeline.validator-threads} tasks, which wait in the bounded queue while the pool is busy.
+     * An upload whose tasks do not fit in the queue is rejected.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor uploadValidationExecutor(@Value("${app.upload.pipeline.pool-size:8}") int poolSize,
+                                                           @Value("${app.upload.pipeline.validation-queue-capacity:16}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("upload-validate-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    /**
+     * Runs asynchronous MVC requests such as streamed reports, which would otherwise hold a servlet thread
+     * for as long as the download takes.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor mvcAsyncExecutor(@Value("${app.report.threads:4}") int threads,
+                                                   @Value("${app.report.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mvc-async-");
+        return executor;
+    }
+
+    /**
+     * Reads the ID partitions of course reports concurrently, for all reports together. Each report keeps
+     * at most as many partitions in flight as the pool has threads, so the queue only holds those.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor reportPartitionExecutor(@Value("${app.report.partition-threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("report-partition-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    /**
+     * Generates report files into the spool directory. Both the thread count and the queue are bounded,
+     * further submissions are rejected until a slot frees up.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor reportFileExecutor(@Value("${app.report.spool.threads:2}") int threads,
+                                                     @Value("${app.report.spool.queue-capacity:10}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-file-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    /**
+     * Applies changes to the in-memory suggestion index one at a time and in the order they were committed.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor suggestionIndexExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("suggestion-index-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+
+    /**
+     * Applies course changes to the in-memory read model one at a time and in the order they were committed.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor readModelExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("read-model-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
@@ -1,24 +1,45 @@
 package com.task2.controller;
 
 import com.task2.exception.ValidationException;
+import com.task2.model.annotation.UniquenessChecks;
+import com.task2.model.constant.IngestMode;
+import com.task2.model.dto.BatchResponse;
 import com.task2.model.dto.CourseDto;
 import com.task2.model.dto.CourseFilterRequest;
 import com.task2.model.dto.CourseForm;
+import com.task2.model.dto.CourseStatsResponse;
+import com.task2.model.dto.NearCacheStats;
+import com.task2.model.dto.ReportFileStatus;
+import com.task2.model.dto.Suggestion;
 import com.task2.model.dto.UploadFileResponse;
+import com.task2.model.dto.UploadJobStatus;
+import com.task2.service.CourseReadCache;
+import com.task2.service.CourseReportService;
+import com.task2.service.CourseReportService.ReportKey;
 import com.task2.service.CourseService;
 import com.task2.service.FileParserService;
-import jakarta.validation.Valid;
+import com.task2.service.ReportDownload;
+import com.task2.service.ReportFileService;
+import com.task2.service.SuggestionService;
+import com.task2.service.UploadJobService;
+import com.task2.util.FileRangeSender;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.groups.Default;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
@@ -27,6 +48,11 @@ public class CourseController {
 
     private final CourseService courseService;
     private final FileParserService fileParserService;
+    private final UploadJobService uploadJobService;
+    private final CourseReportService courseReportService;
+    private final ReportFileService reportFileService;
+    private final SuggestionService suggestionService;
+    private final CourseReadCache courseReadCache;
 
     /**
      * Creates a new course with the data provided in the CourseDto.
@@ -37,7 +63,7 @@ public class CourseController {
      */
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public void createCourse(@Valid @RequestBody CourseDto courseDto, BindingResult bindingResult) {
+    public void createCourse(@Validated({Default.class, UniquenessChecks.class}) @RequestBody CourseDto courseDto, BindingResult bindingResult) {
         if (bindingResult.hasErrors()) {
             throw new ValidationException(bindingResult.getFieldErrors());
         }
@@ -66,7 +92,7 @@ public class CourseController {
      */
     @PutMapping("/{id}")
     @ResponseStatus(HttpStatus.OK)
-    public void updateCourse(@PathVariable Long id, @Valid @RequestBody CourseDto courseDto, BindingResult bindingResult) {
+    public void updateCourse(@PathVariable Long id, @Validated({Default.class, UniquenessChecks.class}) @RequestBody CourseDto courseDto, BindingResult bindingResult) {
         if (bindingResult.hasErrors()) {
             throw new ValidationException(bindingResult.getFieldErrors());
         }
@@ -87,39 +113,211 @@ public class CourseController {
     /**
      * Retrieves a list of courses based on the filtering criteria.
      *
-     * @param courseFilterRequest Request containing filtering criteria.
-     * @return Page<CourseDto> Paginated result of courses.
+     * @param courseFilterRequest Request containing filtering criteria and the pagination mode.
+     * @return Slice<CourseDto> A numbered page for OFFSET pagination, or a page with the token of the next one
+     * for KEYSET pagination.
      */
     @PostMapping("/_list")
-    public Page<CourseDto> getCourses(@RequestBody CourseFilterRequest courseFilterRequest) {
-        return courseService.getCourses(courseFilterRequest);
+    public Slice<CourseDto> getCourses(@RequestBody CourseFilterRequest courseFilterRequest) {
+        return courseService.listCourses(courseFilterRequest);
+    }
+
+    /**
+     * Retrieves many courses by ID with one query instead of one request per course.
+     *
+     * @param ids IDs of the courses, possibly repeated.
+     * @return BatchResponse with a CourseForm per requested ID in request order, null for IDs that do not exist,
+     * which are also listed in {@code missingIds}.
+     */
+    @PostMapping("/_batch")
+    public BatchResponse<CourseForm> getCoursesByIds(@RequestBody List<Long> ids) {
+        return courseService.getCoursesByIds(ids);
+    }
+
+    /**
+     * Reports the hit and miss counts of the course and instructor near-caches since startup.
+     *
+     * @return NearCacheStats list with one element per cache.
+     */
+    @GetMapping("/_cache/stats")
+    public List<NearCacheStats> getCacheStats() {
+        return courseReadCache.getStats();
+    }
+
+    /**
+     * Suggests courses and instructors for a typeahead from the in-memory index, without querying the database.
+     *
+     * @param query Text typed so far, matched against the start of course codes, course names,
+     *              instructor names and their words.
+     * @param limit Maximum number of suggestions.
+     * @return Suggestion list ordered by the matched text.
+     */
+    @GetMapping("/_suggest")
+    public List<Suggestion> suggest(@RequestParam("q") String query,
+                                    @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return suggestionService.suggest(query, limit);
+    }
+
+    /**
+     * Aggregates the courses matching the filtering criteria instead of listing them.
+     *
+     * @param filterRequest Request containing filtering criteria.
+     * @return CourseStatsResponse Course counts and credit sum, minimum, maximum and average in total,
+     * per department and per instructor.
+     */
+    @PostMapping("/_stats")
+    public CourseStatsResponse getCourseStats(@RequestBody CourseFilterRequest filterRequest) {
+        return courseService.getCourseStats(filterRequest);
     }
 
     /**
      * Generates a report based on the course filtering criteria, returns a file.
+     * The CSV is streamed while the courses are read, so the first bytes arrive right away. Reports are cached
+     * until the next course change; a request whose If-None-Match holds the current ETag gets 304 without a body.
      *
      * @param filterRequest Request containing filtering criteria.
-     * @return ResponseEntity<byte[]> Response containing the file as a byte array.
+     * @param ifNoneMatch ETags of reports the client already has, may be null.
+     * @return ResponseEntity<StreamingResponseBody> Response streaming the CSV file, or 304 if it did not change.
      */
     @PostMapping("/_report")
-    public ResponseEntity<byte[]> generateReport(@RequestBody CourseFilterRequest filterRequest) {
-        byte[] data = courseService.generateCourseReport(filterRequest);
+    public ResponseEntity<StreamingResponseBody> generateReport(@RequestBody CourseFilterRequest filterRequest,
+                                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        ReportKey key = courseReportService.keyOf(filterRequest);
+        String etag = courseReportService.getETag(key);
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         HttpHeaders headers = new HttpHeaders();
         headers.setContentDispositionFormData("attachment", "courses-report.csv");
         headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-        return ResponseEntity.ok().headers(headers).body(data);
+        headers.setETag(etag);
+        byte[] cached = courseReportService.getCached(key);
+        if (cached != null) {
+            headers.setContentLength(cached.length);
+            return ResponseEntity.ok().headers(headers).body(outputStream -> outputStream.write(cached));
+        }
+        return ResponseEntity.ok().headers(headers).body(outputStream -> courseReportService.writeReport(key, filterRequest, outputStream));
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Queues the generation of a report file that can be downloaded once it is completed.
+     *
+     * @param filterRequest Request containing filtering criteria.
+     * @return ReportFileStatus The queued report with the ID to poll and download.
+     */
+    @PostMapping("/_report/async")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ReportFileStatus generateReportFile(@RequestBody CourseFilterRequest filterRequest) {
+        return reportFileService.submit(filterRequest);
     }
 
     /**
-     * Handles the upload of a JSON file and processes it to extract course data.
+     * Retrieves the state of a report file.
      *
-     * @param file The JSON file to process.
+     * @param reportId The ID of the report.
+     * @return ReportFileStatus State, size and expiry time of the report.
+     */
+    @GetMapping("/_report/files/{reportId}")
+    public ReportFileStatus getReportFile(@PathVariable String reportId) {
+        return reportFileService.getStatus(reportId);
+    }
+
+    /**
+     * Downloads a completed report file. A single byte range can be requested with the Range header to resume
+     * an interrupted download.
+     *
+     * @param reportId The ID of the report.
+     * @param request The download request, read for the Range and If-Range headers.
+     * @param response The response the file is written to.
+     * @throws IOException if the file cannot be sent.
+     */
+    @GetMapping("/_report/files/{reportId}/content")
+    public void downloadReportFile(@PathVariable String reportId, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        try (ReportDownload download = reportFileService.openDownload(reportId)) {
+            FileRangeSender.send(download.getFile(), "courses-report.csv", request, response);
+        }
+    }
+
+    /**
+     * Inserts or updates courses by code in bulk. Courses whose values did not change are not written.
+     *
+     * @param courseDtos The courses to upsert.
+     * @return UploadFileResponse Counts of successful, updated, unchanged and failed courses, with the index
+     * and reason of each rejected one.
+     * @throws IOException if the courses cannot be loaded.
+     */
+    @PutMapping("/_bulk")
+    public UploadFileResponse upsertCourses(@RequestBody List<CourseDto> courseDtos) throws IOException {
+        return fileParserService.processCourses(courseDtos, IngestMode.UPSERT);
+    }
+
+    /**
+     * Handles the upload of a course file and processes it to extract course data.
+     *
+     * @param file The JSON array, NDJSON or CSV file to process, optionally gzip-compressed.
+     * @param mode Ingestion mode: RECORD by default, BATCH for chunked commits, COPY for PostgreSQL COPY loads
+     *             or UPSERT to insert or update courses by code.
+     * @param uploadId The upload ID returned by a failed attempt, to resume after its last checkpoint.
      * @return UploadFileResponse The result of the file processing.
      * @throws IOException if file processing fails.
      */
     @PostMapping("/upload")
-    public UploadFileResponse uploadFile(@RequestParam("file") MultipartFile file) throws IOException {
-        return fileParserService.processJsonFile(file);
+    public UploadFileResponse uploadFile(@RequestParam("file") MultipartFile file,
+                                         @RequestParam(value = "mode", defaultValue = "RECORD") IngestMode mode,
+                                         @RequestParam(value = "uploadId", required = false) String uploadId) throws IOException {
+        return fileParserService.processFile(file, mode, uploadId);
+    }
+
+    /**
+     * Stores an uploaded course file and processes it in the background, returning right away.
+     *
+     * @param file The file to process, in any format accepted by {@link #uploadFile(MultipartFile, IngestMode, String)}.
+     * @param mode Ingestion mode, see {@link #uploadFile(MultipartFile, IngestMode, String)}.
+     * @param uploadId The upload ID of a failed attempt to resume; defaults to the job ID.
+     * @return UploadJobStatus The queued job, with the ID to poll for progress.
+     * @throws IOException if the file cannot be stored.
+     */
+    @PostMapping("/upload/async")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public UploadJobStatus uploadFileAsync(@RequestParam("file") MultipartFile file,
+                                           @RequestParam(value = "mode", defaultValue = "RECORD") IngestMode mode,
+                                           @RequestParam(value = "uploadId", required = false) String uploadId) throws IOException {
+        return uploadJobService.submit(file, mode, uploadId);
+    }
+
+    /**
+     * Retrieves the progress of an asynchronous upload.
+     *
+     * @param jobId The ID of the upload job.
+     * @return UploadJobStatus Processed, successful and failed record counts and the throughput.
+     */
+    @GetMapping("/upload/{jobId}")
+    public UploadJobStatus getUploadJob(@PathVariable String jobId) {
+        return uploadJobService.getStatus(jobId);
     }
-}
 
+    /**
+     * Cancels an asynchronous upload.
+     *
+     * @param jobId The ID of the upload job.
+     * @return UploadJobStatus The job after the cancellation request.
+     */
+    @DeleteMapping("/upload/{jobId}")
+    public UploadJobStatus cancelUploadJob(@PathVariable String jobId) {
+        return uploadJobService.cancel(jobId);
+    }
+}
@@ -1,6 +1,8 @@
 package com.task2.controller;
 
 import com.task2.exception.ValidationException;
+import com.task2.model.dto.BatchResponse;
+import com.task2.model.dto.EntityCacheStats;
 import com.task2.model.dto.InstructorDto;
 import com.task2.service.InstructorService;
 import jakarta.validation.Valid;
@@ -11,6 +13,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/instructor")
@@ -30,6 +34,28 @@ public class InstructorController {
         return instructorService.getAllInstructors(pageable);
     }
 
+    /**
+     * Retrieves many instructors by ID with one query instead of one request per instructor.
+     *
+     * @param ids IDs of the instructors, possibly repeated.
+     * @return BatchResponse with an InstructorDto per requested ID in request order, null for IDs that do not exist,
+     * which are also listed in {@code missingIds}.
+     */
+    @PostMapping("/_batch")
+    public BatchResponse<InstructorDto> getInstructorsByIds(@RequestBody List<Long> ids) {
+        return instructorService.getInstructorsByIds(ids);
+    }
+
+    /**
+     * Reports the hit rates of the second-level cache of instructors.
+     *
+     * @return EntityCacheStats for the cache of instructors by ID and by email.
+     */
+    @GetMapping("/_cache/stats")
+    public List<EntityCacheStats> getCacheStats() {
+        return instructorService.getCacheStats();
+    }
+
     /**
      * Creates a new instructor based on the provided InstructorDto.
      *
@@ -1,6 +1,8 @@
 package com.task2.exception;
 
+import com.task2.util.MalformedUploadException;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -35,4 +37,46 @@ public class GlobalExceptionHandler {
     public ErrorResponse handleInstructorHasCoursesException(InstructorHasCoursesException ex) {
         return new ErrorResponse(ex.getMessage());
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler(InvalidContinuationTokenException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseBody
+    public ErrorResponse handleInvalidContinuationTokenException(InvalidContinuationTokenException ex) {
+        return new ErrorResponse(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidUploadRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseBody
+    public ErrorResponse handleInvalidUploadRequestException(InvalidUploadRequestException ex) {
+        return new ErrorResponse(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidBatchRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseBody
+    public ErrorResponse handleInvalidBatchRequestException(InvalidBatchRequestException ex) {
+        return new ErrorResponse(ex.getMessage());
+    }
+
+    @ExceptionHandler(ReportNotReadyException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ResponseBody
+    public ErrorResponse handleReportNotReadyException(ReportNotReadyException ex) {
+        return new ErrorResponse(ex.getMessage());
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ResponseBody
+    public ErrorResponse handleTaskRejectedException(TaskRejectedException ex) {
+        return new ErrorResponse("Too many jobs in progress, try again later");
+    }
+
+    @ExceptionHandler(MalformedUploadException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ResponseBody
+    public ErrorResponse handleMalformedUploadException(MalformedUploadException ex) {
+        return new ErrorResponse(ex.getMessage());
+    }
+}
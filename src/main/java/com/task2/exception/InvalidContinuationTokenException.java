@@ -0,0 +1,7 @@
+package com.task2.exception;
+
+public class InvalidContinuationTokenException extends RuntimeException {
+    public InvalidContinuationTokenException(String message) {
+        super(message);
+    }
+}
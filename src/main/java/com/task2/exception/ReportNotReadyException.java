@@ -0,0 +1,7 @@
+package com.task2.exception;
+
+public class ReportNotReadyException extends RuntimeException {
+    public ReportNotReadyException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,5 @@
 package com.task2.model;
 
-import com.task2.model.base.AbstractIdentifiable;
 import com.task2.model.constant.Department;
 import com.task2.util.DepartmentConverter;
 import jakarta.persistence.*;
@@ -9,14 +8,24 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 
-import java.util.LinkedHashSet;
+import java.util.EnumSet;
 import java.util.Set;
 
 @Getter
 @Setter
 @Entity
 @Table(name = "courses")
-public class Course extends AbstractIdentifiable {
+public class Course {
+
+    /**
+     * Course ids come from the pooled {@code courses_seq} sequence instead of an identity column,
+     * so Hibernate can pre-allocate ids and send course inserts as JDBC batches.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "courses_seq")
+    @SequenceGenerator(name = "courses_seq", sequenceName = "courses_seq", allocationSize = 50)
+    @Column(name = "id", nullable = false)
+    private Long id;
 
     @Column(name = "name")
     private String name;
@@ -32,12 +41,15 @@ public class Course extends AbstractIdentifiable {
 
     @ToString.Include
     @Convert(converter = DepartmentConverter.class)
-    @Column(nullable = false)
+    @Column(name = "departments_mask", nullable = false)
     @NotNull
-    private Set<Department> departments =  new LinkedHashSet<>();
+    private Set<Department> departments = EnumSet.noneOf(Department.class);
 
-    @Column(name = "departments", updatable = false, insertable = false)
-    private String departmentString;
+    /**
+     * The same column as {@link #departments}, for queries that test department bits.
+     */
+    @Column(name = "departments_mask", updatable = false, insertable = false)
+    private Integer departmentsMask;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "instructor_id")
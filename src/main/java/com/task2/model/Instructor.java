@@ -1,24 +1,40 @@
 package com.task2.model;
 
 import com.task2.model.base.AbstractIdentifiable;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
+/**
+ * Instructors are few and read by every course write, so they are kept in the second-level cache by ID and by email.
+ * The regions are sized and expired in {@code application.conf}.
+ */
 @Getter
 @Setter
 @Entity
 @Table(name = "instructors")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Instructor.CACHE_REGION)
+@NaturalIdCache(region = Instructor.EMAIL_CACHE_REGION)
 public class Instructor extends AbstractIdentifiable {
 
+    public static final String CACHE_REGION = "instructors";
+    public static final String EMAIL_CACHE_REGION = "instructor-emails";
+
     @Column(name = "first_name")
     private String firstName;
 
     @Column(name = "last_name")
     private String lastName;
 
+    @NaturalId(mutable = true)
     @Column(name = "email")
     private String email;
 }
@@ -0,0 +1,43 @@
+package com.task2.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * How far an upload got: every record before {@code committedRecords} is either committed or rejected,
+ * so a retry of the same file can skip them.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "upload_checkpoints")
+public class UploadCheckpoint {
+
+    @Id
+    @Column(name = "upload_id", nullable = false)
+    private String uploadId;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "file_fingerprint")
+    private String fileFingerprint;
+
+    @Column(name = "committed_records")
+    private Long committedRecords;
+
+    @Column(name = "completed")
+    private boolean completed;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+}
@@ -0,0 +1,8 @@
+package com.task2.model.annotation;
+
+/**
+ * Validation group for constraints that query the database to check uniqueness.
+ * Bulk ingestion modes that check uniqueness set-based validate without this group.
+ */
+public interface UniquenessChecks {
+}
@@ -0,0 +1,7 @@
+package com.task2.model.constant;
+
+public enum CountMode {
+    EXACT,
+    ESTIMATED,
+    NONE
+}
@@ -0,0 +1,12 @@
+package com.task2.model.constant;
+
+public enum CourseSort {
+    ID,
+    NAME,
+    CODE,
+    CREDITS,
+    /**
+     * Full-text search rank; only applies with a search text, otherwise courses are ordered by ID.
+     */
+    RELEVANCE
+}
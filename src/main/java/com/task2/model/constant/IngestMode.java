@@ -0,0 +1,8 @@
+package com.task2.model.constant;
+
+public enum IngestMode {
+    RECORD,
+    BATCH,
+    COPY,
+    UPSERT;
+}
@@ -0,0 +1,6 @@
+package com.task2.model.constant;
+
+public enum PaginationMode {
+    OFFSET,
+    KEYSET
+}
@@ -0,0 +1,8 @@
+package com.task2.model.constant;
+
+public enum ReportFileState {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED;
+}
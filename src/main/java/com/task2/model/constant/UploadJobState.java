@@ -0,0 +1,9 @@
+package com.task2.model.constant;
+
+public enum UploadJobState {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+}
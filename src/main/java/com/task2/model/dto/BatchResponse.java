@@ -0,0 +1,24 @@
+package com.task2.model.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class BatchResponse<T> {
+
+    /**
+     * One element per requested ID, in request order; null where the ID was not found.
+     */
+    private List<T> items = new ArrayList<>();
+
+    /**
+     * Requested IDs that were not found, each once, in request order.
+     */
+    private List<Long> missingIds = new ArrayList<>();
+}
@@ -1,6 +1,7 @@
 package com.task2.model.dto;
 
 import com.task2.model.annotation.UniqueCode;
+import com.task2.model.annotation.UniquenessChecks;
 import com.task2.model.constant.Department;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotNull;
@@ -8,7 +9,7 @@ import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.LinkedHashSet;
+import java.util.EnumSet;
 import java.util.Set;
 
 @Getter
@@ -18,7 +19,7 @@ public class CourseDto {
     @Size(min = 2, max = 30, message = "Name must be between 2 and 30 characters")
     private String name;
 
-    @UniqueCode
+    @UniqueCode(groups = UniquenessChecks.class)
     private String code;
 
     private String description;
@@ -27,7 +28,7 @@ public class CourseDto {
     private Integer credits;
 
     @NotNull
-    private Set<Department> departments = new LinkedHashSet<>();
+    private Set<Department> departments = EnumSet.noneOf(Department.class);
 
     @NotNull
     private Long instructorId;
@@ -1,8 +1,12 @@
 package com.task2.model.dto;
 
+import com.task2.model.constant.CountMode;
+import com.task2.model.constant.CourseSort;
 import com.task2.model.constant.Department;
+import com.task2.model.constant.PaginationMode;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.data.domain.Sort;
 
 import java.util.Set;
 
@@ -15,4 +19,56 @@ public class CourseFilterRequest {
     private Set<Department> departments;
     private int page = 0;
     private int size = 20;
-}
\ No newline at end of file
+
+    /**
+     * Words to look for in the course name and description, in web search syntax: {@code "quoted phrases"},
+     * {@code or} and {@code -excluded} words are supported. Combined with the other criteria; blank means no search.
+     */
+    private String search;
+
+    /**
+     * Order of the listing and the report; courses with equal keys are ordered by ID in the same direction.
+     * Defaults to RELEVANCE when searching and to ID otherwise.
+     */
+    private CourseSort sort;
+
+    /**
+     * Defaults to DESC for RELEVANCE, so the best matches come first, and to ASC otherwise.
+     */
+    private Sort.Direction direction;
+
+    /**
+     * OFFSET pages by page number; KEYSET continues after the course identified by {@code continuationToken},
+     * so every page costs the same index range scan however deep it is. {@code page} is ignored for KEYSET.
+     */
+    private PaginationMode pagination = PaginationMode.OFFSET;
+
+    /**
+     * How the total of an OFFSET listing is computed: EXACT counts the matching courses, ESTIMATED takes the
+     * planner's row estimate, NONE skips the total and only tells whether a next page exists.
+     */
+    private CountMode count = CountMode.EXACT;
+
+    /**
+     * Token returned as {@code nextToken} by the previous KEYSET page, null for the first page.
+     */
+    private String continuationToken;
+
+    public boolean hasSearch() {
+        return search != null && !search.isBlank();
+    }
+
+    public CourseSort getSort() {
+        if (sort != null) {
+            return sort;
+        }
+        return hasSearch() ? CourseSort.RELEVANCE : CourseSort.ID;
+    }
+
+    public Sort.Direction getDirection() {
+        if (direction != null) {
+            return direction;
+        }
+        return getSort() == CourseSort.RELEVANCE ? Sort.Direction.DESC : Sort.Direction.ASC;
+    }
+}
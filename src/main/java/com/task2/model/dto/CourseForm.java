@@ -1,21 +1,22 @@
 package com.task2.model.dto;
 
-import com.task2.model.Instructor;
 import com.task2.model.constant.Department;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.Setter;
 
-import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Detailed view of a course with its instructor. Immutable, so one instance can be cached and shared between requests.
+ */
 @Getter
-@Setter
+@AllArgsConstructor
 public class CourseForm {
 
-    private String name;
-    private String code;
-    private String description;
-    private Integer credits;
-    private List<Department> departments = new ArrayList<>();
-    private Instructor instructor;
+    private final String name;
+    private final String code;
+    private final String description;
+    private final Integer credits;
+    private final List<Department> departments;
+    private final InstructorForm instructor;
 }
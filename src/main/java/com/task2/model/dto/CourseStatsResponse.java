@@ -0,0 +1,21 @@
+package com.task2.model.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class CourseStatsResponse {
+
+    private CreditStats total;
+
+    /**
+     * A course with several departments counts towards each of them, so the groups may add up to more than the total.
+     */
+    private List<DepartmentStats> byDepartment = new ArrayList<>();
+
+    private List<InstructorStats> byInstructor = new ArrayList<>();
+}
@@ -0,0 +1,18 @@
+package com.task2.model.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Number of courses in a group and the aggregates of their credits; credit aggregates are null for an empty group.
+ */
+@Getter
+@Setter
+public class CreditStats {
+
+    private long courses;
+    private Long totalCredits;
+    private Integer minCredits;
+    private Integer maxCredits;
+    private Double averageCredits;
+}
@@ -0,0 +1,12 @@
+package com.task2.model.dto;
+
+import com.task2.model.constant.Department;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class DepartmentStats extends CreditStats {
+
+    private Department department;
+}
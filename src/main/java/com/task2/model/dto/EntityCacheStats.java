@@ -0,0 +1,19 @@
+package com.task2.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EntityCacheStats {
+
+    private String region;
+    private long hits;
+    private long misses;
+    private long puts;
+    private double hitRate;
+}
@@ -0,0 +1,17 @@
+package com.task2.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Instructor with its ID as read from the database. Immutable, so one instance can be cached and shared between requests.
+ */
+@Getter
+@AllArgsConstructor
+public class InstructorForm {
+
+    private final Long id;
+    private final String firstName;
+    private final String lastName;
+    private final String email;
+}
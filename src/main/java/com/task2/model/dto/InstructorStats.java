@@ -0,0 +1,11 @@
+package com.task2.model.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class InstructorStats extends CreditStats {
+
+    private Long instructorId;
+}
@@ -0,0 +1,24 @@
+package com.task2.model.dto;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+/**
+ * A page of a keyset listing. There is no page number or total; {@code nextToken} fetches the next page
+ * and is null on the last one.
+ */
+public class KeysetSlice<T> extends SliceImpl<T> {
+
+    private final String nextToken;
+
+    public KeysetSlice(List<T> content, int size, String nextToken) {
+        super(content, PageRequest.of(0, size), nextToken != null);
+        this.nextToken = nextToken;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+}
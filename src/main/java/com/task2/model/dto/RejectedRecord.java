@@ -0,0 +1,16 @@
+package com.task2.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RejectedRecord {
+
+    private Long index;
+    private String reason;
+}
@@ -0,0 +1,20 @@
+package com.task2.model.dto;
+
+import com.task2.model.constant.ReportFileState;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+public class ReportFileStatus {
+
+    private String reportId;
+    private ReportFileState state;
+    private Long size;
+    private Instant submittedAt;
+    private Instant finishedAt;
+    private Instant expiresAt;
+    private String error;
+}
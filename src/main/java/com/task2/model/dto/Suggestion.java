@@ -0,0 +1,22 @@
+package com.task2.model.dto;
+
+import com.task2.model.constant.SuggestionType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class Suggestion {
+
+    private SuggestionType type;
+    private Long id;
+
+    /**
+     * Display text: "CODE - name" for a course, "first last" for an instructor.
+     */
+    private String text;
+}
@@ -1,16 +1,54 @@
 package com.task2.model.dto;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 public class UploadFileResponse {
 
+    /**
+     * ID to pass with a retry of the same file so it resumes after the last checkpoint, null if the upload
+     * was not started with an upload ID and is not resumable.
+     */
+    private String uploadId;
     private Integer successfulRecords;
     private Integer failedRecords;
+
+    /**
+     * Of the successful records of an upsert, those that changed an existing course and those that matched it.
+     */
+    private Long updatedRecords;
+    private Long unchangedRecords;
+
+    /**
+     * Records skipped because an earlier attempt of the upload already committed or rejected them.
+     */
+    private Long skippedRecords;
+
+    /**
+     * Index and reason of the rejected records, capped by {@code app.upload.max-reported-rejections}.
+     */
+    private List<RejectedRecord> rejectedRecords = new ArrayList<>();
+
+    /**
+     * Throughput of the parse, validate and write stages of the upload.
+     */
+    private List<UploadStageStats> stages = new ArrayList<>();
+
+    public UploadFileResponse(Integer successfulRecords, Integer failedRecords) {
+        this.successfulRecords = successfulRecords;
+        this.failedRecords = failedRecords;
+    }
+
+    public UploadFileResponse(Integer successfulRecords, Integer failedRecords, List<RejectedRecord> rejectedRecords) {
+        this.successfulRecords = successfulRecords;
+        this.failedRecords = failedRecords;
+        this.rejectedRecords = rejectedRecords;
+    }
 }
@@ -0,0 +1,33 @@
+package com.task2.model.dto;
+
+import com.task2.model.constant.IngestMode;
+import com.task2.model.constant.UploadJobState;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class UploadJobStatus {
+
+    private String jobId;
+    private String uploadId;
+    private UploadJobState state;
+    private IngestMode mode;
+    private Long processedRecords;
+    private Long skippedRecords;
+    private Integer successfulRecords;
+    private Integer failedRecords;
+    private Long updatedRecords;
+    private Long unchangedRecords;
+    private Double recordsPerSecond;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+    private List<RejectedRecord> rejectedRecords = new ArrayList<>();
+    private List<UploadStageStats> stages = new ArrayList<>();
+}
@@ -0,0 +1,33 @@
+package com.task2.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Throughput of one stage of the upload pipeline. A stage whose utilization is close to 1 while its input
+ * queue stays full is the bottleneck; a stage with an empty input queue is waiting for the one before it.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadStageStats {
+
+    private String stage;
+    private Integer threads;
+    private Long records;
+    private Double recordsPerSecond;
+
+    /**
+     * Share of the stage's thread time spent working rather than waiting on its queues, between 0 and 1.
+     */
+    private Double utilization;
+
+    /**
+     * Records waiting for this stage, null for the parse stage which reads the file directly.
+     */
+    private Integer queueDepth;
+    private Integer queueCapacity;
+}
@@ -0,0 +1,28 @@
+package com.task2.model.event;
+
+import java.util.List;
+
+/**
+ * Published whenever courses are created, updated or deleted. Listeners that run after commit
+ * see the change in the database.
+ *
+ * @param courseIds IDs of the changed courses; a bulk write lists every course of the chunk it committed.
+ * Empty for a bulk load too large to list, after which listeners reload everything.
+ */
+public record CourseChangedEvent(List<Long> courseIds) {
+
+    public CourseChangedEvent(Long courseId) {
+        this(List.of(courseId));
+    }
+
+    /**
+     * @return Event for a bulk load whose course IDs are not listed.
+     */
+    public static CourseChangedEvent bulk() {
+        return new CourseChangedEvent(List.of());
+    }
+
+    public boolean isBulk() {
+        return courseIds.isEmpty();
+    }
+}
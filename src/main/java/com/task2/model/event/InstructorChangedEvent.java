@@ -0,0 +1,10 @@
+package com.task2.model.event;
+
+/**
+ * Published whenever an instructor is created, updated or deleted. Listeners that run after commit
+ * see the change in the database.
+ *
+ * @param instructorId ID of the changed instructor.
+ */
+public record InstructorChangedEvent(Long instructorId) {
+}
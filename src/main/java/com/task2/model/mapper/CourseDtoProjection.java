@@ -0,0 +1,36 @@
+package com.task2.model.mapper;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.MappingProjection;
+import com.task2.model.QCourse;
+import com.task2.model.dto.CourseDto;
+import com.task2.util.DepartmentConverter;
+
+/**
+ * Selects only the columns of a {@link CourseDto} and builds it from each row, so read queries neither load
+ * {@code Course} entities into the persistence context nor keep snapshots of them for dirty checking.
+ * The instructor ID is read from the foreign key without joining instructors.
+ */
+public class CourseDtoProjection extends MappingProjection<CourseDto> {
+
+    private final QCourse course;
+
+    public CourseDtoProjection(QCourse course) {
+        super(CourseDto.class, course.name, course.code, course.description, course.credits, course.departmentsMask,
+                course.instructor.id);
+        this.course = course;
+    }
+
+    @Override
+    protected CourseDto map(Tuple row) {
+        CourseDto courseDto = new CourseDto();
+        courseDto.setName(row.get(course.name));
+        courseDto.setCode(row.get(course.code));
+        courseDto.setDescription(row.get(course.description));
+        courseDto.setCredits(row.get(course.credits));
+        Integer departmentsMask = row.get(course.departmentsMask);
+        courseDto.setDepartments(DepartmentConverter.fromMask(departmentsMask == null ? 0 : departmentsMask));
+        courseDto.setInstructorId(row.get(course.instructor.id));
+        return courseDto;
+    }
+}
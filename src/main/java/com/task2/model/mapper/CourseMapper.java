@@ -1,12 +1,17 @@
 package com.task2.model.mapper;
 
 import com.task2.model.Course;
+import com.task2.model.constant.Department;
 import com.task2.model.dto.CourseDto;
 import com.task2.model.dto.CourseForm;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-@Mapper(componentModel = "spring")
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Mapper(componentModel = "spring", uses = InstructorMapper.class)
 public interface CourseMapper {
     Course toEntity(CourseDto courseDto);
 
@@ -14,4 +19,18 @@ public interface CourseMapper {
     CourseDto toDto(Course course);
 
     CourseForm toForm(Course course);
+
+    /**
+     * Copies departments into an EnumSet, which is backed by a single long like the stored bitmask.
+     */
+    default Set<Department> copyDepartments(Set<Department> departments) {
+        return departments == null || departments.isEmpty() ? EnumSet.noneOf(Department.class) : EnumSet.copyOf(departments);
+    }
+
+    /**
+     * Lists departments in declaration order as an unmodifiable list for the immutable CourseForm.
+     */
+    default List<Department> toDepartmentList(Set<Department> departments) {
+        return departments == null ? List.of() : List.copyOf(copyDepartments(departments));
+    }
 }
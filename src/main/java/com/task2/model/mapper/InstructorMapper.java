@@ -4,6 +4,7 @@ import com.task2.model.Course;
 import com.task2.model.Instructor;
 import com.task2.model.dto.CourseDto;
 import com.task2.model.dto.InstructorDto;
+import com.task2.model.dto.InstructorForm;
 import org.mapstruct.Mapper;
 
 @Mapper(componentModel = "spring")
@@ -11,4 +12,6 @@ public interface InstructorMapper {
     Instructor toEntity(InstructorDto instructorDto);
 
     InstructorDto toDto(Instructor instructor);
+
+    InstructorForm toForm(Instructor instructor);
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.task2.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task2.model.constant.Department;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Set;
+
+/**
+ * Estimates how many courses match a filter from the PostgreSQL planner statistics. The filtered query is
+ * only planned with {@code EXPLAIN}, never executed, so the cost does not grow with the number of matches.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CourseEstimateRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Returns the planner's row estimate for the courses matching the filter. The same conditions as the
+     * course listing are applied; null or empty criteria are ignored.
+     *
+     * @param instructorId Instructor the courses belong to, or null.
+     * @param credits Credits of the courses, or null.
+     * @param departments Departments every course must have, or null.
+     * @param search Full-text search in the name and description, or null.
+     * @return The estimated number of matching courses, which may be above or below the actual one.
+     */
+    public long estimateCount(Long instructorId, Integer credits, Set<Department> departments, String search) {
+        CourseFilterSql filter = CourseFilterSql.of(instructorId, credits, departments, search);
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN (FORMAT JSON) SELECT 1 FROM courses c WHERE " + filter.where(), String.class, filter.args());
+        try {
+            JsonNode rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return rows.isNumber() ? rows.asLong() : 0;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unexpected EXPLAIN output: " + plan, e);
+        }
+    }
+}
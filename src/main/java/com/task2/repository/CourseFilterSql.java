@@ -0,0 +1,56 @@
+package com.task2.repository;
+
+import com.task2.config.CourseSearchFunctions;
+import com.task2.model.constant.Department;
+import com.task2.util.DepartmentConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * SQL condition on the {@code courses} table, aliased {@code c}, that selects the same courses as the filter
+ * of the course listing. Null or empty criteria are ignored.
+ */
+final class CourseFilterSql {
+
+    private final String where;
+    private final List<Object> args;
+
+    private CourseFilterSql(String where, List<Object> args) {
+        this.where = where;
+        this.args = args;
+    }
+
+    static CourseFilterSql of(Long instructorId, Integer credits, Set<Department> departments, String search) {
+        StringBuilder where = new StringBuilder("true");
+        List<Object> args = new ArrayList<>();
+        if (instructorId != null) {
+            where.append(" AND c.instructor_id = ?");
+            args.add(instructorId);
+        }
+        if (credits != null) {
+            where.append(" AND c.credits = ?");
+            args.add(credits);
+        }
+        if (departments != null && !departments.isEmpty()) {
+            int wanted = DepartmentConverter.toMask(departments);
+            where.append(" AND (c.departments_mask & ?) = ?");
+            args.add(wanted);
+            args.add(wanted);
+        }
+        if (search != null && !search.isBlank()) {
+            where.append(" AND c.search_vector @@ websearch_to_tsquery('" + CourseSearchFunctions.TEXT_SEARCH_CONFIG + "', ?)");
+            args.add(search);
+        }
+        return new CourseFilterSql(where.toString(), args);
+    }
+
+    String where() {
+        return where;
+    }
+
+    Object[] args() {
+        return args.toArray();
+    }
+}
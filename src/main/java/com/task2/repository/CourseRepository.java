@@ -3,11 +3,15 @@ package com.task2.repository;
 import com.task2.model.Course;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long>, QuerydslPredicateExecutor<Course> {
@@ -15,7 +19,13 @@ public interface CourseRepository extends JpaRepository<Course, Long>, QuerydslP
     @EntityGraph(attributePaths = {"instructor"})
     Optional<Course> findCourseWithInstructorById(Long courseId);
 
+    @EntityGraph(attributePaths = {"instructor"})
+    List<Course> findCoursesWithInstructorByIdIn(Collection<Long> courseIds);
+
     Course findByCode(String value);
 
+    @Query("select c.code from Course c where c.code in :codes")
+    Set<String> findExistingCodes(@Param("codes") Collection<String> codes);
+
     List<Course> findByInstructorId(Long id);
 }
\ No newline at end of file
@@ -0,0 +1,213 @@
+package com.task2.repository;
+
+import com.task2.model.dto.CourseDto;
+import com.task2.model.dto.RejectedRecord;
+import com.task2.util.DepartmentConverter;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads courses through PostgreSQL COPY into a per-transaction staging table and merges them into
+ * {@code courses} with one set-based statement.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CourseStagingRepository {
+
+    private static final String CREATE_STAGING_TABLE = """
+            CREATE TEMP TABLE courses_staging (
+                row_no bigint,
+                name text,
+                code text,
+                description text,
+                credits int,
+                departments_mask int,
+                instructor_id bigint,
+                reject_reason text
+            ) ON COMMIT DROP""";
+
+    private static final String COPY_STAGING = "COPY courses_staging (row_no, name, code, description, credits, departments_mask, instructor_id) "
+            + "FROM STDIN WITH (FORMAT csv)";
+
+    /**
+     * Marks every staged row that cannot be inserted with the reason: values that do not fit the {@code courses}
+     * columns, an unknown instructor or a code that is already taken.
+     */
+    private static final String REJECT_STAGED = """
+            UPDATE courses_staging s
+            SET reject_reason = r.reason
+            FROM (
+                SELECT st.row_no,
+                       CASE
+                           WHEN st.code IS NULL OR char_length(st.code) > 10 THEN 'code: Course code is required and must be at most 10 characters'
+                           WHEN st.name IS NULL OR char_length(st.name) > 255 THEN 'name: Course name is required and must be at most 255 characters'
+                           WHEN char_length(st.description) > 1024 THEN 'description: Description must be at most 1024 characters'
+                           WHEN st.credits IS NULL THEN 'credits: Credits are required'
+                           WHEN i.id IS NULL THEN 'Instructor not found with ID: ' || st.instructor_id
+                           WHEN st.code IN (SELECT c.code FROM courses c) THEN 'code: Course code must be unique'
+                       END AS reason
+                FROM courses_staging st
+                LEFT JOIN instructors i ON i.id = st.instructor_id
+            ) r
+            WHERE r.row_no = s.row_no AND r.reason IS NOT NULL""";
+
+    /**
+     * Marks every row that repeats the code of an earlier row of the file. Only rows that passed the other checks
+     * are counted, so a valid row is kept when the earlier row with its code was rejected, as in BATCH mode.
+     */
+    private static final String REJECT_REPEATED = """
+            UPDATE courses_staging s
+            SET reject_reason = 'code: Duplicate course code in file'
+            FROM (
+                SELECT st.row_no, row_number() OVER (PARTITION BY st.code ORDER BY st.row_no) AS occurrence
+                FROM courses_staging st
+                WHERE st.reject_reason IS NULL
+            ) r
+            WHERE r.row_no = s.row_no AND r.occurrence > 1""";
+
+    private static final String MERGE_STAGED = """
+            INSERT INTO courses (name, code, description, credits, departments_mask, instructor_id)
+            SELECT s.name, s.code, s.description, s.credits, s.departments_mask, s.instructor_id
+            FROM courses_staging s
+            WHERE s.reject_reason IS NULL""";
+
+    private static final String COUNT_REJECTED = "SELECT count(*) FROM courses_staging WHERE reject_reason IS NOT NULL";
+
+    private static final String SELECT_REJECTED = """
+            SELECT row_no, reject_reason
+            FROM courses_staging
+            WHERE reject_reason IS NOT NULL
+            ORDER BY row_no
+            LIMIT ?""";
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final DataSource dataSource;
+    private final DepartmentConverter departmentConverter;
+
+    /**
+     * Opens a dedicated connection, creates the staging table and starts a COPY into it.
+     *
+     * @return CopySession that accepts courses until it is merged or closed.
+     * @throws SQLException If the connection or the COPY cannot be started.
+     * @throws IOException If the COPY stream cannot be set up.
+     */
+    public CopySession openCopySession() throws SQLException, IOException {
+        Connection connection = dataSource.getConnection();
+        try {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_STAGING_TABLE);
+            }
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            return new CopySession(connection, copyManager.copyIn(COPY_STAGING));
+        } catch (SQLException | IOException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    public class CopySession implements AutoCloseable {
+
+        private final Connection connection;
+        private final CopyIn copyIn;
+        private final CSVPrinter printer;
+        private boolean committed;
+
+        private CopySession(Connection connection, CopyIn copyIn) throws IOException {
+            this.connection = connection;
+            this.copyIn = copyIn;
+            this.printer = new CSVPrinter(new OutputStreamWriter(new PGCopyOutputStream(copyIn, COPY_BUFFER_SIZE), StandardCharsets.UTF_8),
+                    CSVFormat.POSTGRESQL_CSV);
+        }
+
+        /**
+         * Streams one course into the staging table.
+         *
+         * @param index Position of the course in the uploaded file.
+         * @param courseDto Validated course to stage.
+         * @throws IOException If the COPY stream fails.
+         */
+        public void add(long index, CourseDto courseDto) throws IOException {
+            printer.printRecord(
+                    index,
+                    courseDto.getName(),
+                    courseDto.getCode(),
+                    courseDto.getDescription(),
+                    courseDto.getCredits(),
+                    departmentConverter.convertToDatabaseColumn(courseDto.getDepartments()),
+                    courseDto.getInstructorId());
+        }
+
+        /**
+         * Finishes the COPY, merges the acceptable staged rows into courses and commits.
+         *
+         * @param maxReportedRejections How many rejected rows to return with their reason.
+         * @return MergeResult with the number of inserted and rejected rows.
+         * @throws IOException If the COPY stream cannot be completed.
+         * @throws SQLException If the merge fails, in which case nothing is inserted.
+         */
+        public MergeResult merge(int maxReportedRejections) throws IOException, SQLException {
+            printer.close();
+            long inserted;
+            long rejected;
+            List<RejectedRecord> rejectedRecords = new ArrayList<>();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE courses_staging");
+                statement.executeUpdate(REJECT_STAGED);
+                statement.executeUpdate(REJECT_REPEATED);
+                inserted = statement.executeLargeUpdate(MERGE_STAGED);
+                try (ResultSet resultSet = statement.executeQuery(COUNT_REJECTED)) {
+                    resultSet.next();
+                    rejected = resultSet.getLong(1);
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_REJECTED)) {
+                statement.setInt(1, maxReportedRejections);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        rejectedRecords.add(new RejectedRecord(resultSet.getLong(1), resultSet.getString(2)));
+                    }
+                }
+            }
+            connection.commit();
+            committed = true;
+            return new MergeResult(inserted, rejected, rejectedRecords);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+                if (!committed) {
+                    connection.rollback();
+                }
+            } finally {
+                connection.close();
+            }
+        }
+    }
+
+    public record MergeResult(long inserted, long rejected, List<RejectedRecord> rejectedRecords) {
+    }
+}
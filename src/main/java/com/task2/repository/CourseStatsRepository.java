@@ -0,0 +1,84 @@
+package com.task2.repository;
+
+import com.task2.model.constant.Department;
+import com.task2.model.dto.CourseStatsResponse;
+import com.task2.model.dto.CreditStats;
+import com.task2.model.dto.DepartmentStats;
+import com.task2.model.dto.InstructorStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Set;
+
+/**
+ * Aggregates the credits of filtered courses in SQL, so only one row per group leaves the database.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CourseStatsRepository {
+
+    /**
+     * The total and the per-instructor groups come from one scan; {@code GROUPING} tells the total row apart.
+     */
+    private static final String BY_INSTRUCTOR = """
+            SELECT GROUPING(c.instructor_id) = 1 AS total, c.instructor_id,
+                   count(*), sum(c.credits), min(c.credits), max(c.credits), avg(c.credits)::float8
+            FROM courses c
+            WHERE %s
+            GROUP BY GROUPING SETS ((), (c.instructor_id))
+            ORDER BY total DESC, c.instructor_id""";
+
+    private static final String BY_DEPARTMENT = """
+            SELECT d.ordinal,
+                   count(*), sum(c.credits), min(c.credits), max(c.credits), avg(c.credits)::float8
+            FROM courses c
+            JOIN generate_series(0, %d) AS d(ordinal) ON (c.departments_mask & (1 << d.ordinal)) <> 0
+            WHERE %s
+            GROUP BY d.ordinal
+            ORDER BY d.ordinal""";
+
+    private static final Department[] DEPARTMENTS = Department.values();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Counts the courses matching the filter and aggregates their credits in total, per department and per instructor.
+     *
+     * @param instructorId Instructor the courses belong to, or null.
+     * @param credits Credits of the courses, or null.
+     * @param departments Departments every course must have, or null.
+     * @param search Full-text search in the name and description, or null.
+     * @return CourseStatsResponse with the total and the groups ordered by department and by instructor ID.
+     */
+    public CourseStatsResponse aggregate(Long instructorId, Integer credits, Set<Department> departments, String search) {
+        CourseFilterSql filter = CourseFilterSql.of(instructorId, credits, departments, search);
+        CourseStatsResponse response = new CourseStatsResponse();
+        jdbcTemplate.query(BY_INSTRUCTOR.formatted(filter.where()), resultSet -> {
+            if (resultSet.getBoolean(1)) {
+                response.setTotal(readCreditStats(resultSet, 3, new CreditStats()));
+            } else {
+                InstructorStats stats = readCreditStats(resultSet, 3, new InstructorStats());
+                stats.setInstructorId(resultSet.getObject(2, Long.class));
+                response.getByInstructor().add(stats);
+            }
+        }, filter.args());
+        jdbcTemplate.query(BY_DEPARTMENT.formatted(DEPARTMENTS.length - 1, filter.where()), resultSet -> {
+            DepartmentStats stats = readCreditStats(resultSet, 2, new DepartmentStats());
+            stats.setDepartment(DEPARTMENTS[resultSet.getInt(1)]);
+            response.getByDepartment().add(stats);
+        }, filter.args());
+        return response;
+    }
+
+    private static <T extends CreditStats> T readCreditStats(ResultSet resultSet, int column, T stats) throws SQLException {
+        stats.setCourses(resultSet.getLong(column));
+        stats.setTotalCredits(resultSet.getObject(column + 1, Long.class));
+        stats.setMinCredits(resultSet.getObject(column + 2, Integer.class));
+        stats.setMaxCredits(resultSet.getObject(column + 3, Integer.class));
+        stats.setAverageCredits(resultSet.getObject(column + 4, Double.class));
+        return stats;
+    }
+}
@@ -0,0 +1,85 @@
+package com.task2.repository;
+
+import com.task2.model.dto.CourseDto;
+import com.task2.util.DepartmentConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.util.List;
+
+/**
+ * Inserts or updates courses by code with one statement per chunk. Rows whose values did not change
+ * are left alone, so refreshing an unchanged catalog writes nothing.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CourseUpsertRepository {
+
+    private static final String UPSERT = """
+            WITH upserted AS (
+                INSERT INTO courses (name, code, description, credits, departments_mask, instructor_id)
+                SELECT * FROM unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::int[], ?::int[], ?::bigint[])
+                ON CONFLICT (code) DO UPDATE
+                SET name = EXCLUDED.name,
+                    description = EXCLUDED.description,
+                    credits = EXCLUDED.credits,
+                    departments_mask = EXCLUDED.departments_mask,
+                    instructor_id = EXCLUDED.instructor_id
+                WHERE (courses.name, courses.description, courses.credits, courses.departments_mask, courses.instructor_id)
+                      IS DISTINCT FROM
+                      (EXCLUDED.name, EXCLUDED.description, EXCLUDED.credits, EXCLUDED.departments_mask, EXCLUDED.instructor_id)
+                RETURNING id, xmax = 0 AS inserted
+            )
+            SELECT count(*) FILTER (WHERE inserted), count(*) FILTER (WHERE NOT inserted), array_agg(id) FROM upserted""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DepartmentConverter departmentConverter;
+
+    /**
+     * Upserts the given courses. Codes must be unique within the list and instructors must exist.
+     *
+     * @param courseDtos Courses to insert or update, matched on code.
+     * @return UpsertResult with the number of inserted, updated and unchanged courses and the IDs of the written ones.
+     */
+    public UpsertResult upsert(List<CourseDto> courseDtos) {
+        int size = courseDtos.size();
+        String[] names = new String[size];
+        String[] codes = new String[size];
+        String[] descriptions = new String[size];
+        Integer[] credits = new Integer[size];
+        Integer[] departments = new Integer[size];
+        Long[] instructorIds = new Long[size];
+        for (int i = 0; i < size; i++) {
+            CourseDto courseDto = courseDtos.get(i);
+            names[i] = courseDto.getName();
+            codes[i] = courseDto.getCode();
+            descriptions[i] = courseDto.getDescription();
+            credits[i] = courseDto.getCredits();
+            departments[i] = departmentConverter.convertToDatabaseColumn(courseDto.getDepartments());
+            instructorIds[i] = courseDto.getInstructorId();
+        }
+
+        return jdbcTemplate.query(UPSERT, statement -> {
+            Connection connection = statement.getConnection();
+            statement.setArray(1, connection.createArrayOf("varchar", names));
+            statement.setArray(2, connection.createArrayOf("varchar", codes));
+            statement.setArray(3, connection.createArrayOf("varchar", descriptions));
+            statement.setArray(4, connection.createArrayOf("int4", credits));
+            statement.setArray(5, connection.createArrayOf("int4", departments));
+            statement.setArray(6, connection.createArrayOf("int8", instructorIds));
+        }, resultSet -> {
+            resultSet.next();
+            long inserted = resultSet.getLong(1);
+            long updated = resultSet.getLong(2);
+            Array changedIds = resultSet.getArray(3);
+            return new UpsertResult(inserted, updated, size - inserted - updated,
+                    changedIds == null ? List.of() : List.of((Long[]) changedIds.getArray()));
+        });
+    }
+
+    public record UpsertResult(long inserted, long updated, long unchanged, List<Long> changedIds) {
+    }
+}
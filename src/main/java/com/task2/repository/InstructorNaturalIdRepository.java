@@ -0,0 +1,14 @@
+package com.task2.repository;
+
+import com.task2.model.Instructor;
+
+public interface InstructorNaturalIdRepository {
+
+    /**
+     * Looks an instructor up by email through the natural-id cache, so a repeated lookup does not query the database.
+     *
+     * @param email Email of the instructor.
+     * @return The Instructor, or null if there is none with this email.
+     */
+    Instructor findByEmail(String email);
+}
@@ -0,0 +1,21 @@
+package com.task2.repository;
+
+import com.task2.model.Instructor;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+public class InstructorNaturalIdRepositoryImpl implements InstructorNaturalIdRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Instructor findByEmail(String email) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Instructor.class)
+                .load(email);
+    }
+}
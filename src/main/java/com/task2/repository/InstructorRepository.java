@@ -2,10 +2,16 @@ package com.task2.repository;
 
 import com.task2.model.Instructor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Set;
+
 @Repository
-public interface InstructorRepository extends JpaRepository<Instructor, Long> {
+public interface InstructorRepository extends JpaRepository<Instructor, Long>, InstructorNaturalIdRepository {
 
-    Instructor findByEmail(String value);
+    @Query("select i.id from Instructor i where i.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
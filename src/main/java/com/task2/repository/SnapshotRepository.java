@@ -0,0 +1,40 @@
+package com.task2.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.regex.Pattern;
+
+/**
+ * Shares one PostgreSQL snapshot between transactions, so work split over several connections reads the database
+ * as of a single point in time. Both calls must run in a REPEATABLE READ transaction; the exporting one has to stay
+ * open until every importing transaction has started.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SnapshotRepository {
+
+    private static final Pattern SNAPSHOT_ID = Pattern.compile("[0-9A-F-]+");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return ID of the snapshot of the current transaction.
+     */
+    public String exportSnapshot() {
+        return jdbcTemplate.queryForObject("SELECT pg_export_snapshot()", String.class);
+    }
+
+    /**
+     * Makes the current transaction read the exported snapshot; it must be the first statement of the transaction.
+     *
+     * @param snapshotId ID returned by {@link #exportSnapshot()}.
+     */
+    public void importSnapshot(String snapshotId) {
+        if (!SNAPSHOT_ID.matcher(snapshotId).matches()) {
+            throw new IllegalArgumentException("Invalid snapshot ID: " + snapshotId);
+        }
+        jdbcTemplate.execute("SET TRANSACTION SNAPSHOT '" + snapshotId + "'");
+    }
+}
@@ -0,0 +1,26 @@
+package com.task2.repository;
+
+import com.task2.model.UploadCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface UploadCheckpointRepository extends JpaRepository<UploadCheckpoint, String> {
+
+    @Modifying
+    @Query("update UploadCheckpoint c set c.committedRecords = :committedRecords, c.completed = :completed, c.updatedAt = :updatedAt "
+            + "where c.uploadId = :uploadId and c.committedRecords <= :committedRecords")
+    int advance(@Param("uploadId") String uploadId,
+                @Param("committedRecords") long committedRecords,
+                @Param("completed") boolean completed,
+                @Param("updatedAt") Instant updatedAt);
+
+    @Modifying
+    @Query("delete from UploadCheckpoint c where c.updatedAt < :expiry")
+    int deleteExpired(@Param("expiry") Instant expiry);
+}
@@ -0,0 +1,148 @@
+package com.task2.service;
+
+import com.task2.model.dto.CourseDto;
+import com.task2.repository.CourseUpsertRepository.UpsertResult;
+import com.task2.util.AdaptiveBatchSizer;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Commits courses in chunks whose size adapts to the measured commit latency. Before a chunk is written,
+ * the instructor IDs and course codes of all its records are resolved with one query each, so a code committed
+ * by an earlier chunk is rejected as taken. A code repeated within the chunk is held back until the record
+ * before it is stored, and is only rejected as a duplicate if that store succeeded. If a chunk is still rejected
+ * as a whole, its records are retried one by one so a single bad record only fails itself. In upsert mode a taken
+ * code updates the existing course instead of being rejected. Only the current chunk is kept in memory.
+ */
+class BatchCourseSink implements CourseSink {
+
+    private final CourseService courseService;
+    private final AdaptiveBatchSizer batchSizer;
+    private final UploadProgress progress;
+    private final boolean upsert;
+    private final List<CourseDto> chunk = new ArrayList<>();
+    private final List<Long> chunkIndexes = new ArrayList<>();
+
+    BatchCourseSink(CourseService courseService, AdaptiveBatchSizer batchSizer, UploadProgress progress, boolean upsert) {
+        this.courseService = courseService;
+        this.batchSizer = batchSizer;
+        this.progress = progress;
+        this.upsert = upsert;
+    }
+
+    @Override
+    public void write(long index, CourseDto courseDto) {
+        chunk.add(courseDto);
+        chunkIndexes.add(index);
+        if (chunk.size() >= batchSizer.getBatchSize()) {
+            flush();
+        }
+    }
+
+    @Override
+    public void finish() {
+        if (!chunk.isEmpty()) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        long start = System.nanoTime();
+        List<Integer> repeated = new ArrayList<>();
+        List<Integer> accepted = resolve(repeated);
+        Set<String> storedCodes = new HashSet<>();
+        if (!accepted.isEmpty()) {
+            write(accepted, storedCodes);
+        }
+        for (int position : repeated) {
+            String code = chunk.get(position).getCode();
+            if (storedCodes.contains(code)) {
+                progress.recordRejection(chunkIndexes.get(position), "code: Duplicate course code in file");
+            } else {
+                write(List.of(position), storedCodes);
+            }
+        }
+        batchSizer.recordCommit(chunk.size(), (System.nanoTime() - start) / 1_000_000);
+        chunk.clear();
+        chunkIndexes.clear();
+    }
+
+    /**
+     * Rejects the records of the chunk whose instructor does not exist or whose code is taken in the database
+     * (unless upserting).
+     *
+     * @param repeated Receives the positions of records whose code an earlier record of the chunk already has.
+     * @return Positions within the chunk of the records that can be written.
+     */
+    private List<Integer> resolve(List<Integer> repeated) {
+        Set<Long> instructorIds = new HashSet<>();
+        Set<String> codes = new HashSet<>();
+        for (CourseDto courseDto : chunk) {
+            instructorIds.add(courseDto.getInstructorId());
+            if (courseDto.getCode() != null) {
+                codes.add(courseDto.getCode());
+            }
+        }
+        Set<Long> existingInstructorIds = courseService.findExistingInstructorIds(instructorIds);
+        Set<String> existingCodes = upsert ? Set.of() : courseService.findExistingCodes(codes);
+
+        List<Integer> accepted = new ArrayList<>(chunk.size());
+        Set<String> chunkCodes = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            CourseDto courseDto = chunk.get(i);
+            if (upsert && courseDto.getCode() == null) {
+                progress.recordRejection(chunkIndexes.get(i), "code: Course code is required to upsert");
+            } else if (!existingInstructorIds.contains(courseDto.getInstructorId())) {
+                progress.recordRejection(chunkIndexes.get(i), "Instructor not found with ID: " + courseDto.getInstructorId());
+            } else if (existingCodes.contains(courseDto.getCode())) {
+                progress.recordRejection(chunkIndexes.get(i), "code: Course code must be unique");
+            } else if (courseDto.getCode() != null && !chunkCodes.add(courseDto.getCode())) {
+                repeated.add(i);
+            } else {
+                accepted.add(i);
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Stores the records at the given positions, retrying them one by one if they fail together.
+     *
+     * @param positions Positions within the chunk of the records to store.
+     * @param storedCodes Receives the codes of the records that were stored.
+     */
+    private void write(List<Integer> positions, Set<String> storedCodes) {
+        try {
+            store(positions.stream().map(chunk::get).toList());
+            positions.forEach(position -> stored(position, storedCodes));
+        } catch (Exception e) {
+            for (int position : positions) {
+                try {
+                    store(List.of(chunk.get(position)));
+                    stored(position, storedCodes);
+                } catch (Exception recordException) {
+                    progress.recordRejection(chunkIndexes.get(position), recordException.getMessage());
+                }
+            }
+        }
+    }
+
+    private void stored(int position, Set<String> storedCodes) {
+        progress.recordSuccess(chunkIndexes.get(position));
+        if (chunk.get(position).getCode() != null) {
+            storedCodes.add(chunk.get(position).getCode());
+        }
+    }
+
+    private void store(List<CourseDto> courseDtos) {
+        if (upsert) {
+            UpsertResult result = courseService.upsertCourses(courseDtos);
+            progress.recordUpserts(result.updated(), result.unchanged());
+        } else {
+            courseService.createCourses(courseDtos);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.task2.service;
+
+import com.task2.model.dto.CourseDto;
+import com.task2.model.event.CourseChangedEvent;
+import com.task2.repository.CourseStagingRepository.CopySession;
+import com.task2.repository.CourseStagingRepository.MergeResult;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * Streams courses into a staging table with PostgreSQL COPY and merges them into courses in one statement.
+ * The load is atomic: either every accepted course is inserted or none is.
+ */
+class CopyCourseSink implements CourseSink {
+
+    private final CopySession copySession;
+    private final UploadProgress progress;
+    private final ApplicationEventPublisher eventPublisher;
+
+    CopyCourseSink(CopySession copySession, UploadProgress progress, ApplicationEventPublisher eventPublisher) {
+        this.copySession = copySession;
+        this.progress = progress;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void write(long index, CourseDto courseDto) throws IOException {
+        copySession.add(index, courseDto);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        try {
+            MergeResult result = copySession.merge(progress.getMaxReportedRejections());
+            progress.recordSuccesses(result.inserted());
+            progress.recordRejections(result.rejected(), result.rejectedRecords());
+            if (result.inserted() > 0) {
+                eventPublisher.publishEvent(CourseChangedEvent.bulk());
+            }
+        } catch (SQLException e) {
+            throw new IOException("Failed to merge staged courses", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            copySession.close();
+        } catch (SQLException e) {
+            throw new IOException("Failed to release the COPY connection", e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.task2.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.task2.model.dto.CourseForm;
+import com.task2.model.dto.InstructorForm;
+import com.task2.model.dto.NearCacheStats;
+import com.task2.model.event.CourseChangedEvent;
+import com.task2.model.event.InstructorChangedEvent;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Near-cache of course and instructor reads by ID, bounded in entries and expiring after a write. Values are
+ * immutable forms, so one instance is shared between requests. Entries are invalidated by ID after the change
+ * events of courses and instructors commit; a course form embeds its instructor, so an instructor change also drops
+ * the courses that show it. A load that is still running when its key is invalidated completes first and is then
+ * discarded, so a value read before a commit is never kept after it.
+ */
+@Service
+public class CourseReadCache {
+
+    private Cache<Long, CourseForm> courses;
+    private Cache<Long, InstructorForm> instructors;
+    private final AtomicLong instructorChanges = new AtomicLong();
+
+    @Value("${app.cache.courses.max-size:10000}")
+    private long maxCourses;
+
+    @Value("${app.cache.instructors.max-size:10000}")
+    private long maxInstructors;
+
+    @Value("${app.cache.ttl-minutes:10}")
+    private long ttlMinutes;
+
+    @PostConstruct
+    void initCaches() {
+        courses = Caffeine.newBuilder()
+                .maximumSize(maxCourses)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+        instructors = Caffeine.newBuilder()
+                .maximumSize(maxInstructors)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @param id ID of the course.
+     * @param loader Reads the course on a miss, returning null if it does not exist; missing courses are not cached.
+     * @return The cached or loaded CourseForm, or null if the course does not exist.
+     */
+    public CourseForm getCourse(Long id, Function<Long, CourseForm> loader) {
+        long changesBefore = instructorChanges.get();
+        CourseForm course = courses.get(id, loader);
+        if (instructorChanges.get() != changesBefore) {
+            // An instructor changed while the course was loaded; the invalidation could not see the entry yet.
+            courses.invalidate(id);
+        }
+        return course;
+    }
+
+    /**
+     * @param id ID of the instructor.
+     * @param loader Reads the instructor on a miss, returning null if it does not exist; missing instructors are not cached.
+     * @return The cached or loaded InstructorForm, or null if the instructor does not exist.
+     */
+    public InstructorForm getInstructor(Long id, Function<Long, InstructorForm> loader) {
+        return instructors.get(id, loader);
+    }
+
+    public List<NearCacheStats> getStats() {
+        return List.of(toStats("courses", courses), toStats("instructors", instructors));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (event.isBulk()) {
+            courses.invalidateAll();
+        } else {
+            courses.invalidateAll(event.courseIds());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onInstructorChanged(InstructorChangedEvent event) {
+        instructors.invalidate(event.instructorId());
+        instructorChanges.incrementAndGet();
+        courses.asMap().values().removeIf(course -> course.getInstructor() != null
+                && event.instructorId().equals(course.getInstructor().getId()));
+    }
+
+    private static NearCacheStats toStats(String name, Cache<Long, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new NearCacheStats(name, cache.estimatedSize(), stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.evictionCount());
+    }
+}
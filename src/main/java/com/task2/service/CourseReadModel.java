@@ -0,0 +1,211 @@
+package com.task2.service;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.task2.exception.InvalidContinuationTokenException;
+import com.task2.model.QCourse;
+import com.task2.model.constant.CountMode;
+import com.task2.model.constant.CourseSort;
+import com.task2.model.constant.PaginationMode;
+import com.task2.model.dto.CourseDto;
+import com.task2.model.dto.CourseFilterRequest;
+import com.task2.model.dto.KeysetSlice;
+import com.task2.model.event.CourseChangedEvent;
+import com.task2.util.ContinuationToken;
+import com.task2.util.CourseBitmapIndex;
+import com.task2.util.CourseBitmapIndex.Entry;
+import com.task2.util.DepartmentConverter;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-memory read model that answers course listings from a {@link CourseBitmapIndex} instead of PostgreSQL,
+ * enabled with {@code app.read-model.enabled}. It is loaded when the application is ready and kept up to date
+ * from the course change events after they commit, re-reading only the changed rows whatever order their IDs commit
+ * in; only a bulk load that does not list its courses rebuilds it from the database. All changes are applied on the
+ * single read model thread in commit order, and a rebuild is swapped in whole, so listings keep being served while
+ * it runs.
+ * Listings sorted by anything but ID, and searches, still go to the database.
+ */
+@Service
+@RequiredArgsConstructor
+public class CourseReadModel {
+
+    private static final int REFRESH_BATCH_SIZE = 1000;
+
+    private final JPAQueryFactory queryFactory;
+    private final PlatformTransactionManager transactionManager;
+    private final ThreadPoolTaskExecutor readModelExecutor;
+
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private volatile CourseBitmapIndex index;
+
+    @Value("${app.read-model.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.read-model.fetch-size:1000}")
+    private int fetchSize;
+
+    /**
+     * @param filterRequest Filtering criteria, sort order and paging of a listing.
+     * @return true if the read model is enabled, loaded and supports the sort order of the listing.
+     */
+    public boolean canServe(CourseFilterRequest filterRequest) {
+        return enabled && index != null && filterRequest.getSort() == CourseSort.ID && !filterRequest.hasSearch();
+    }
+
+    /**
+     * Lists courses from memory with the same paging as {@link CourseService#listCourses(CourseFilterRequest)}.
+     * Counting the matches walks the smallest posting of the filter, so an ESTIMATED count is exact here.
+     *
+     * @param filterRequest Filtering criteria and the pagination mode; only call it if {@link #canServe} is true.
+     * @return Page of CourseDto for OFFSET pagination with a count, Slice of CourseDto without one,
+     * KeysetSlice of CourseDto for KEYSET pagination.
+     * Throws InvalidContinuationTokenException if the continuation token is malformed or belongs to another sort order.
+     */
+    public Slice<CourseDto> list(CourseFilterRequest filterRequest) {
+        CourseBitmapIndex courses = index;
+        boolean ascending = filterRequest.getDirection() != Sort.Direction.DESC;
+        int departmentsMask = DepartmentConverter.toMask(filterRequest.getDepartments());
+        int size = filterRequest.getSize();
+
+        if (filterRequest.getPagination() == PaginationMode.KEYSET) {
+            String sort = filterRequest.getSort() + ":" + filterRequest.getDirection();
+            Long afterId = null;
+            if (filterRequest.getContinuationToken() != null) {
+                ContinuationToken token = ContinuationToken.decode(filterRequest.getContinuationToken());
+                if (!sort.equals(token.sort())) {
+                    throw new InvalidContinuationTokenException("Continuation token belongs to another sort order");
+                }
+                afterId = token.id();
+            }
+            List<Entry> entries = courses.find(filterRequest.getInstructorId(), filterRequest.getCredits(), departmentsMask,
+                    afterId, ascending, 0, size + 1);
+            String nextToken = null;
+            if (entries.size() > size) {
+                entries = entries.subList(0, size);
+                nextToken = new ContinuationToken(sort, null, entries.get(size - 1).id()).encode();
+            }
+            return new KeysetSlice<>(entries.stream().map(Entry::course).toList(), size, nextToken);
+        }
+
+        Pageable pageable = PageRequest.of(filterRequest.getPage(), size);
+        List<CourseDto> courseDtos = courses.find(filterRequest.getInstructorId(), filterRequest.getCredits(),
+                        departmentsMask, null, ascending, pageable.getOffset(), size + 1).stream()
+                .map(Entry::course)
+                .toList();
+        boolean hasNext = courseDtos.size() > size;
+        List<CourseDto> content = hasNext ? courseDtos.subList(0, size) : courseDtos;
+        if (filterRequest.getCount() == CountMode.NONE) {
+            return new SliceImpl<>(content, pageable, hasNext);
+        }
+        return new PageImpl<>(content, pageable,
+                courses.count(filterRequest.getInstructorId(), filterRequest.getCredits(), departmentsMask));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (enabled) {
+            requestRebuild();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.isBulk()) {
+            requestRebuild();
+        } else {
+            readModelExecutor.execute(() -> refresh(event.courseIds()));
+        }
+    }
+
+    /**
+     * Queues a rebuild unless one is already waiting, so several bulk loads committing one after another rebuild
+     * it once.
+     */
+    private void requestRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            readModelExecutor.execute(this::rebuild);
+        }
+    }
+
+    private void rebuild() {
+        rebuildPending.set(false);
+        CourseBitmapIndex rebuilt = new CourseBitmapIndex();
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Tuple> rows = selectCourses(null)
+                    .orderBy(QCourse.course.id.asc())
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .stream()) {
+                rows.forEach(row -> put(rebuilt, row));
+            }
+        });
+        index = rebuilt;
+    }
+
+    private void refresh(List<Long> ids) {
+        CourseBitmapIndex courses = index;
+        if (courses == null) {
+            return;
+        }
+        QCourse course = QCourse.course;
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        for (int from = 0; from < ids.size(); from += REFRESH_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + REFRESH_BATCH_SIZE));
+            List<Tuple> rows = readOnlyTransaction.execute(status -> selectCourses(course.id.in(batch)).fetch());
+            Set<Long> found = new HashSet<>();
+            for (Tuple row : rows) {
+                found.add(row.get(course.id));
+                put(courses, row);
+            }
+            batch.stream()
+                    .filter(id -> !found.contains(id))
+                    .forEach(courses::remove);
+        }
+    }
+
+    private JPAQuery<Tuple> selectCourses(BooleanExpression where) {
+        QCourse course = QCourse.course;
+        return queryFactory.select(course.id, course.name, course.code, course.description, course.credits,
+                        course.departmentsMask, course.instructor.id)
+                .from(course)
+                .where(where);
+    }
+
+    private static void put(CourseBitmapIndex courses, Tuple row) {
+        QCourse course = QCourse.course;
+        Integer departmentsMask = row.get(course.departmentsMask);
+        courses.put(row.get(course.id), row.get(course.name), row.get(course.code), row.get(course.description),
+                row.get(course.credits), departmentsMask == null ? 0 : departmentsMask, row.get(course.instructor.id));
+    }
+}
@@ -0,0 +1,120 @@
+package com.task2.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.task2.model.dto.CourseFilterRequest;
+import com.task2.model.event.CourseChangedEvent;
+import com.task2.util.CapturingOutputStream;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Caches course reports by filter and data version. The version is bumped after every committed course change,
+ * so a cached report is never served for data it does not reflect. Entries are weighed by their size in bytes;
+ * reports larger than {@code app.report.cache.max-entry-bytes} are streamed but not kept.
+ */
+@Service
+@RequiredArgsConstructor
+public class CourseReportService {
+
+    private final CourseService courseService;
+
+    private final AtomicLong dataVersion = new AtomicLong();
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private Cache<ReportKey, byte[]> reports;
+
+    @Value("${app.report.cache.max-bytes:67108864}")
+    private long maxCacheBytes;
+
+    @Value("${app.report.cache.max-entry-bytes:8388608}")
+    private int maxEntryBytes;
+
+    @Value("${app.report.cache.expire-after-access-minutes:60}")
+    private long expireAfterAccessMinutes;
+
+    @PostConstruct
+    void initCache() {
+        reports = Caffeine.newBuilder()
+                .maximumWeight(maxCacheBytes)
+                .weigher((ReportKey key, byte[] report) -> report.length)
+                .expireAfterAccess(Duration.ofMinutes(expireAfterAccessMinutes))
+                .build();
+    }
+
+    /**
+     * Identifies the report for the filter and sort order at the current data version. Paging fields of the filter
+     * are ignored and departments are compared as a set.
+     *
+     * @param filterRequest Filtering criteria of the report.
+     * @return ReportKey whose ETag changes whenever the filter or the courses do.
+     */
+    public ReportKey keyOf(CourseFilterRequest filterRequest) {
+        String departments = filterRequest.getDepartments() == null ? "" : filterRequest.getDepartments().stream()
+                .map(Enum::name)
+                .sorted()
+                .collect(Collectors.joining(","));
+        return new ReportKey(dataVersion.get(), filterRequest.getInstructorId(), filterRequest.getCredits(), departments,
+                filterRequest.hasSearch() ? filterRequest.getSearch().trim() : null,
+                filterRequest.getSort() + ":" + filterRequest.getDirection());
+    }
+
+    /**
+     * @param key Key of the report.
+     * @return The cached CSV of the report, or null if it is not cached.
+     */
+    public byte[] getCached(ReportKey key) {
+        return reports.getIfPresent(key);
+    }
+
+    /**
+     * Writes the CSV report to the output stream and caches it under the key if it is small enough.
+     *
+     * @param key Key of the report, taken before the report is generated.
+     * @param filterRequest Filtering criteria of the report.
+     * @param outputStream Destination of the CSV, flushed but not closed.
+     * @throws IOException If writing to the output stream fails; nothing is cached then.
+     */
+    public void writeReport(ReportKey key, CourseFilterRequest filterRequest, OutputStream outputStream) throws IOException {
+        CapturingOutputStream capturingStream = new CapturingOutputStream(outputStream, maxEntryBytes);
+        courseService.writeCourseReport(filterRequest, capturingStream);
+        byte[] report = capturingStream.getCapture();
+        if (report != null && key.version() == dataVersion.get()) {
+            reports.put(key, report);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        dataVersion.incrementAndGet();
+        reports.invalidateAll();
+    }
+
+    /**
+     * Derives the ETag of a report. It also carries the start time of the application, since the version
+     * counter restarts with it.
+     *
+     * @param key Key of the report.
+     * @return Strong ETag of the report.
+     */
+    public String getETag(ReportKey key) {
+        String filter = key.instructorId() + "|" + key.credits() + "|" + key.departments() + "|" + key.search() + "|" + key.sort();
+        return "\"" + epoch + "-" + key.version() + "-"
+                + DigestUtils.md5DigestAsHex(filter.getBytes(StandardCharsets.UTF_8)).substring(0, 16) + "\"";
+    }
+
+    public record ReportKey(long version, Long instructorId, Integer credits, String departments, String search,
+                            String sort) {
+    }
+}
@@ -1,44 +1,111 @@
 package com.task2.service;
 
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.OrderSpecifier;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.ComparableExpression;
+import com.querydsl.core.types.dsl.ComparableExpressionBase;
+import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.task2.config.CourseSearchFunctions;
+import com.task2.exception.InvalidContinuationTokenException;
 import com.task2.model.Course;
 import com.task2.model.Instructor;
 import com.task2.model.QCourse;
+import com.task2.model.constant.CountMode;
+import com.task2.model.constant.CourseSort;
+import com.task2.model.constant.PaginationMode;
+import com.task2.model.dto.BatchResponse;
 import com.task2.model.dto.CourseDto;
 import com.task2.model.dto.CourseFilterRequest;
 import com.task2.model.dto.CourseForm;
+import com.task2.model.dto.CourseStatsResponse;
+import com.task2.model.dto.InstructorForm;
+import com.task2.model.dto.KeysetSlice;
+import com.task2.model.event.CourseChangedEvent;
+import com.task2.model.mapper.CourseDtoProjection;
 import com.task2.model.mapper.CourseMapper;
+import com.task2.model.mapper.InstructorMapper;
+import com.task2.repository.CourseEstimateRepository;
 import com.task2.repository.CourseRepository;
+import com.task2.repository.CourseStatsRepository;
+import com.task2.repository.CourseUpsertRepository;
+import com.task2.repository.CourseUpsertRepository.UpsertResult;
 import com.task2.repository.InstructorRepository;
+import com.task2.repository.SnapshotRepository;
+import com.task2.util.BatchLookup;
+import com.task2.util.ContinuationToken;
 import com.task2.util.DepartmentConverter;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
+import org.hibernate.jpa.HibernateHints;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class CourseService {
 
     private final CourseRepository courseRepository;
+    private final CourseUpsertRepository courseUpsertRepository;
+    private final CourseEstimateRepository courseEstimateRepository;
+    private final CourseStatsRepository courseStatsRepository;
+    private final SnapshotRepository snapshotRepository;
     private final InstructorRepository instructorRepository;
     private final CourseMapper courseMapper;
+    private final InstructorMapper instructorMapper;
     private final JPAQueryFactory queryFactory;
-    private final DepartmentConverter departmentConverter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+    private final ThreadPoolTaskExecutor reportPartitionExecutor;
+    private final CourseReadModel courseReadModel;
+    private final CourseReadCache courseReadCache;
+
+    @Value("${app.report.fetch-size:1000}")
+    private int reportFetchSize;
+
+    @Value("${app.report.partition-size:50000}")
+    private long reportPartitionSize;
+
+    @Value("${app.batch.max-ids:1000}")
+    private int batchMaxIds;
 
     /**
      * Creates a new course with the specified details, associating it with an instructor.
@@ -48,25 +115,120 @@ public class CourseService {
      */
     @Transactional
     public void createCourse(CourseDto courseDto) {
-        Instructor instructor = instructorRepository.findById(courseDto.getInstructorId())
-                .orElseThrow(() -> new EntityNotFoundException("Instructor not found with ID: " + courseDto.getInstructorId()));
+        Instructor instructor = getInstructorReference(courseDto.getInstructorId());
         Course course = courseMapper.toEntity(courseDto);
         course.setInstructor(instructor);
         courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId()));
+    }
+
+    /**
+     * Creates a chunk of courses in a single transaction so the inserts are sent as JDBC batches.
+     * Instructors are referenced by ID without being loaded, so callers are expected to have checked
+     * that they exist; a missing instructor fails the whole chunk when it is flushed.
+     *
+     * @param courseDtos Data transfer objects of the courses to create.
+     * @return The number of created courses.
+     */
+    @Transactional
+    public int createCourses(List<CourseDto> courseDtos) {
+        List<Course> courses = new ArrayList<>(courseDtos.size());
+        for (CourseDto courseDto : courseDtos) {
+            Course course = courseMapper.toEntity(courseDto);
+            course.setInstructor(instructorRepository.getReferenceById(courseDto.getInstructorId()));
+            courses.add(course);
+        }
+        courseRepository.saveAll(courses);
+        eventPublisher.publishEvent(new CourseChangedEvent(courses.stream().map(Course::getId).toList()));
+        return courses.size();
     }
 
     /**
-     * Retrieves a course by its ID and maps it to a CourseForm.
+     * Inserts or updates a chunk of courses by code with a single statement; courses whose values
+     * are unchanged are not written. Codes must be unique within the chunk and instructors must exist.
+     *
+     * @param courseDtos Data transfer objects of the courses to upsert.
+     * @return UpsertResult with the number of inserted, updated and unchanged courses.
+     */
+    @Transactional
+    public UpsertResult upsertCourses(List<CourseDto> courseDtos) {
+        UpsertResult result = courseUpsertRepository.upsert(courseDtos);
+        if (!result.changedIds().isEmpty()) {
+            eventPublisher.publishEvent(new CourseChangedEvent(result.changedIds()));
+        }
+        return result;
+    }
+
+    /**
+     * Finds which of the given course codes are already taken, with a single query.
+     *
+     * @param codes Candidate course codes.
+     * @return The subset of the codes that already exist.
+     */
+    @Transactional(readOnly = true)
+    public Set<String> findExistingCodes(Collection<String> codes) {
+        return codes.isEmpty() ? Set.of() : courseRepository.findExistingCodes(codes);
+    }
+
+    /**
+     * Finds which of the given instructor IDs exist, with a single query.
+     *
+     * @param instructorIds Candidate instructor IDs.
+     * @return The subset of the IDs that exist.
+     */
+    @Transactional(readOnly = true)
+    public Set<Long> findExistingInstructorIds(Collection<Long> instructorIds) {
+        return instructorIds.isEmpty() ? Set.of() : instructorRepository.findExistingIds(instructorIds);
+    }
+
+    /**
+     * Retrieves a course by its ID and maps it to a CourseForm. Served from the near-cache when the course
+     * was read recently, without a transaction or a connection; only a miss is read in a read-only transaction.
      *
      * @param id The ID of the course to retrieve.
      * @return CourseForm containing detailed information about the course.
      * Throws EntityNotFoundException if the course is not found.
      */
-    @Transactional(readOnly = true)
     public CourseForm getCourseById(Long id) {
-        Course course = courseRepository.findCourseWithInstructorById(id).orElseThrow(() -> new EntityNotFoundException("Course not found with ID: " + id));
-        return courseMapper.toForm(course);
+        CourseForm courseForm = courseReadCache.getCourse(id, key -> newReadOnlyTransaction().execute(status ->
+                courseRepository.findCourseWithInstructorById(key)
+                        .map(courseMapper::toForm)
+                        .orElse(null)));
+        if (courseForm == null) {
+            throw new EntityNotFoundException("Course not found with ID: " + id);
+        }
+        return courseForm;
+    }
 
+    /**
+     * Checks through the near-cache that the instructor exists and returns a reference to it without loading it.
+     * Throws EntityNotFoundException if the instructor does not exist.
+     */
+    private Instructor getInstructorReference(Long instructorId) {
+        InstructorForm instructorForm = instructorId == null ? null : courseReadCache.getInstructor(instructorId,
+                key -> instructorRepository.findById(key).map(instructorMapper::toForm).orElse(null));
+        if (instructorForm == null) {
+            throw new EntityNotFoundException("Instructor not found with ID: " + instructorId);
+        }
+        return instructorRepository.getReferenceById(instructorId);
+    }
+
+    /**
+     * Retrieves many courses with their instructors by one query for the distinct IDs.
+     *
+     * @param ids IDs of the courses to retrieve, possibly repeated.
+     * @return BatchResponse with a CourseForm per requested ID in request order, null where the course does not
+     * exist, and the IDs that were not found.
+     * Throws InvalidBatchRequestException if there are more than {@code app.batch.max-ids} IDs or a null ID.
+     */
+    @Transactional(readOnly = true)
+    public BatchResponse<CourseForm> getCoursesByIds(List<Long> ids) {
+        Set<Long> distinctIds = BatchLookup.distinctIds(ids, batchMaxIds);
+        Map<Long, CourseForm> found = new HashMap<>();
+        for (Course course : courseRepository.findCoursesWithInstructorByIdIn(distinctIds)) {
+            found.put(course.getId(), courseMapper.toForm(course));
+        }
+        return BatchLookup.inRequestOrder(ids, found);
     }
 
     /**
@@ -79,13 +241,14 @@ public class CourseService {
     @Transactional
     public void updateCourse(Long id, CourseDto courseDto) {
         Course course = courseRepository.findById(id).orElseThrow(() -> new EntityNotFoundException("Course not found with ID: " + id));
-        Instructor instructor = instructorRepository.findById(courseDto.getInstructorId()).orElseThrow(() -> new EntityNotFoundException("Instructor not found with ID: " + courseDto.getInstructorId()));
+        Instructor instructor = getInstructorReference(courseDto.getInstructorId());
         course.setName(courseDto.getName());
         course.setCode(courseDto.getCode());
         course.setCredits(courseDto.getCredits());
         course.setDepartments(courseDto.getDepartments());
         course.setInstructor(instructor);
         course.setDescription(courseDto.getDescription());
+        eventPublisher.publishEvent(new CourseChangedEvent(id));
     }
 
     /**
@@ -100,10 +263,12 @@ public class CourseService {
             throw new EntityNotFoundException("Course not found with ID: " + id);
         }
         courseRepository.deleteById(id);
+        eventPublisher.publishEvent(new CourseChangedEvent(id));
     }
 
     /**
-     * Retrieves a paginated list of courses filtered by specified criteria.
+     * Retrieves a paginated list of courses filtered by specified criteria. The total is counted exactly,
+     * or taken from the planner statistics when the filter asks for an ESTIMATED count.
      *
      * @param filterRequest Contains filtering criteria such as instructor ID, credits, and departments.
      * @return Page of CourseDto with courses matching the filter criteria.
@@ -114,27 +279,214 @@ public class CourseService {
         QCourse course = QCourse.course;
         BooleanExpression where = getFilterPredicate(filterRequest, course);
 
-        List<CourseDto> courseDtos = queryFactory.selectFrom(course)
+        if (filterRequest.getCount() == CountMode.ESTIMATED) {
+            List<CourseDto> courseDtos = fetchPage(where, getOrder(filterRequest, course), pageable, pageable.getPageSize() + 1);
+            long estimate = courseEstimateRepository.estimateCount(filterRequest.getInstructorId(), filterRequest.getCredits(),
+                    filterRequest.getDepartments(), getSearch(filterRequest));
+            // Keep the estimate consistent with what this page has seen: never below the courses already
+            // reached, and above them if another page exists.
+            boolean hasNext = courseDtos.size() > pageable.getPageSize();
+            long reached = pageable.getOffset() + Math.min(courseDtos.size(), pageable.getPageSize());
+            long total = hasNext ? Math.max(estimate, reached + 1) : reached;
+            return new PageImpl<>(hasNext ? courseDtos.subList(0, pageable.getPageSize()) : courseDtos, pageable, total);
+        }
+
+        List<CourseDto> courseDtos = fetchPage(where, getOrder(filterRequest, course), pageable, pageable.getPageSize());
+        Long total = queryFactory.select(course.count())
+                .from(course)
+                .where(where)
+                .fetchOne();
+        return new PageImpl<>(courseDtos, pageable, total == null ? 0 : total);
+    }
+
+    /**
+     * Retrieves a page of courses filtered by specified criteria without counting them. One course more than
+     * the page size is read to tell whether a next page exists.
+     *
+     * @param filterRequest Contains filtering criteria such as instructor ID, credits, and departments.
+     * @return Slice of CourseDto with courses matching the filter criteria.
+     */
+    @Transactional(readOnly = true)
+    public Slice<CourseDto> getCourseSlice(CourseFilterRequest filterRequest) {
+        Pageable pageable = PageRequest.of(filterRequest.getPage(), filterRequest.getSize());
+        List<CourseDto> courseDtos = fetchPage(getFilterPredicate(filterRequest, QCourse.course),
+                getOrder(filterRequest, QCourse.course), pageable, pageable.getPageSize() + 1);
+        boolean hasNext = courseDtos.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? courseDtos.subList(0, pageable.getPageSize()) : courseDtos, pageable, hasNext);
+    }
+
+    private List<CourseDto> fetchPage(BooleanExpression where, OrderSpecifier<?>[] order, Pageable pageable, int limit) {
+        QCourse course = QCourse.course;
+        return queryFactory.select(new CourseDtoProjection(course))
+                .from(course)
                 .where(where)
+                .orderBy(order)
                 .offset(pageable.getOffset())
-                .limit(pageable.getPageSize())
-                .fetch()
-                .stream()
-                .map(courseMapper::toDto)
-                .toList();
+                .limit(limit)
+                .fetch();
+    }
+
+    /**
+     * Retrieves courses filtered by the specified criteria, paged as requested by the filter. When the in-memory
+     * read model is enabled and supports the sort order, the listing is served from it without a database
+     * connection; otherwise it is read in a read-only transaction.
+     *
+     * @param filterRequest Filtering criteria and the pagination mode.
+     * @return Page of CourseDto for OFFSET pagination with an EXACT or ESTIMATED count, Slice of CourseDto
+     * without a count, KeysetSlice of CourseDto for KEYSET pagination.
+     * Throws InvalidContinuationTokenException if the continuation token is malformed.
+     */
+    public Slice<CourseDto> listCourses(CourseFilterRequest filterRequest) {
+        if (courseReadModel.canServe(filterRequest)) {
+            return courseReadModel.list(filterRequest);
+        }
+        return newReadOnlyTransaction().execute(status -> {
+            if (filterRequest.getPagination() == PaginationMode.KEYSET) {
+                return getCoursesAfter(filterRequest);
+            }
+            return filterRequest.getCount() == CountMode.NONE ? getCourseSlice(filterRequest) : getCourses(filterRequest);
+        });
+    }
 
-        long total = queryFactory.select(course.count())
+    /**
+     * Retrieves the keyset page of courses that follows the continuation token, in the requested sort order
+     * with the ID breaking ties. The page starts with a range condition on the sort key instead of an offset,
+     * so it is read from the matching composite index, and no count is run.
+     *
+     * @param filterRequest Filtering criteria, sort order, page size and the continuation token of the previous page.
+     * @return KeysetSlice of CourseDto with the token of the next page, if there is one.
+     * Throws InvalidContinuationTokenException if the continuation token is malformed or belongs to another sort order.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<CourseDto> getCoursesAfter(CourseFilterRequest filterRequest) {
+        QCourse course = QCourse.course;
+        String sort = filterRequest.getSort() + ":" + filterRequest.getDirection();
+        ComparableExpressionBase<?> sortKey = getSortKey(filterRequest, course);
+        BooleanExpression where = getFilterPredicate(filterRequest, course);
+        if (filterRequest.getContinuationToken() != null) {
+            ContinuationToken token = ContinuationToken.decode(filterRequest.getContinuationToken());
+            if (!sort.equals(token.sort())) {
+                throw new InvalidContinuationTokenException("Continuation token belongs to another sort order");
+            }
+            where = getSeekPredicate(filterRequest, token, course).and(where);
+        }
+
+        int size = filterRequest.getSize();
+        CourseDtoProjection projection = new CourseDtoProjection(course);
+        List<Tuple> rows = queryFactory.select(course.id, sortKey == null ? course.id : sortKey, projection)
                 .from(course)
                 .where(where)
-                .stream()
-                .count();
-        return new PageImpl<>(courseDtos, pageable, total);
+                .orderBy(getOrder(filterRequest, course))
+                .limit(size + 1L)
+                .fetch();
+
+        String nextToken = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            Tuple last = rows.get(size - 1);
+            String key = sortKey == null ? null : String.valueOf(last.get(1, Object.class));
+            nextToken = new ContinuationToken(sort, key, last.get(course.id)).encode();
+        }
+        return new KeysetSlice<>(rows.stream().map(row -> row.get(projection)).toList(), size, nextToken);
+    }
+
+    /**
+     * Orders by the requested sort key and then by ID in the same direction, which the composite
+     * {@code (..., key, id)} indexes can return without a sort step.
+     */
+    private static OrderSpecifier<?>[] getOrder(CourseFilterRequest filterRequest, QCourse course) {
+        boolean ascending = filterRequest.getDirection() != Sort.Direction.DESC;
+        OrderSpecifier<Long> byId = ascending ? course.id.asc() : course.id.desc();
+        ComparableExpressionBase<?> sortKey = getSortKey(filterRequest, course);
+        if (sortKey == null) {
+            return new OrderSpecifier<?>[]{byId};
+        }
+        return new OrderSpecifier<?>[]{ascending ? sortKey.asc() : sortKey.desc(), byId};
+    }
+
+    private static ComparableExpressionBase<?> getSortKey(CourseFilterRequest filterRequest, QCourse course) {
+        switch (filterRequest.getSort()) {
+            case NAME:
+                return course.name;
+            case CODE:
+                return course.code;
+            case CREDITS:
+                return course.credits;
+            case RELEVANCE:
+                return filterRequest.hasSearch() ? getSearchRank(filterRequest, course) : null;
+            default:
+                return null;
+        }
+    }
+
+    private static ComparableExpression<Double> getSearchRank(CourseFilterRequest filterRequest, QCourse course) {
+        return Expressions.comparableTemplate(Double.class, CourseSearchFunctions.RANK + "({0}, {1})",
+                course.id, getSearch(filterRequest));
+    }
+
+    private static String getSearch(CourseFilterRequest filterRequest) {
+        return filterRequest.hasSearch() ? filterRequest.getSearch().trim() : null;
+    }
+
+    /**
+     * Selects the courses after the token position. Written as {@code key >= k AND (key > k OR id > i)} rather than
+     * a plain disjunction, so the first condition bounds the index range scan.
+     */
+    private static BooleanExpression getSeekPredicate(CourseFilterRequest filterRequest, ContinuationToken token, QCourse course) {
+        boolean ascending = filterRequest.getDirection() != Sort.Direction.DESC;
+        BooleanExpression idAfter = ascending ? course.id.gt(token.id()) : course.id.lt(token.id());
+        if (getSortKey(filterRequest, course) == null) {
+            return idAfter;
+        }
+        if (token.key() == null) {
+            throw new InvalidContinuationTokenException("Invalid continuation token");
+        }
+        switch (filterRequest.getSort()) {
+            case NAME:
+                return seek(course.name, token.key(), ascending, idAfter);
+            case CODE:
+                return seek(course.code, token.key(), ascending, idAfter);
+            case CREDITS:
+                try {
+                    return seek(Expressions.asComparable(course.credits), Integer.valueOf(token.key()), ascending, idAfter);
+                } catch (NumberFormatException e) {
+                    throw new InvalidContinuationTokenException("Invalid continuation token");
+                }
+            case RELEVANCE:
+                try {
+                    return seek(getSearchRank(filterRequest, course), Double.valueOf(token.key()), ascending, idAfter);
+                } catch (NumberFormatException e) {
+                    throw new InvalidContinuationTokenException("Invalid continuation token");
+                }
+            default:
+                return idAfter;
+        }
+    }
+
+    private static <T extends Comparable<?>> BooleanExpression seek(ComparableExpression<T> key, T value, boolean ascending,
+                                                                    BooleanExpression idAfter) {
+        return ascending
+                ? key.goe(value).and(key.gt(value).or(idAfter))
+                : key.loe(value).and(key.lt(value).or(idAfter));
+    }
+
+    /**
+     * Counts the courses matching the filter criteria and aggregates their credits in the database.
+     *
+     * @param filterRequest Filtering criteria; paging fields are ignored.
+     * @return CourseStatsResponse with the course count and credit sum, minimum, maximum and average in total,
+     * per department and per instructor.
+     */
+    @Transactional(readOnly = true)
+    public CourseStatsResponse getCourseStats(CourseFilterRequest filterRequest) {
+        return courseStatsRepository.aggregate(filterRequest.getInstructorId(), filterRequest.getCredits(),
+                filterRequest.getDepartments(), getSearch(filterRequest));
     }
 
     /**
      * Constructs a BooleanExpression that represents the filtering criteria for querying courses.
      *
-     * @param filterRequest Contains criteria such as instructor ID, credits, and departments to filter courses.
+     * @param filterRequest Contains criteria such as instructor ID, credits, departments and search text to filter courses.
      * @param course A QCourse instance used to build the query predicates.
      * @return BooleanExpression that can be used as a predicate in a query to filter courses based on specified criteria.
      */
@@ -148,64 +500,203 @@ public class CourseService {
             where = (where == null ? course.credits.eq(filterRequest.getCredits()) : where.and(course.credits.eq(filterRequest.getCredits())));
         }
         if (filterRequest.getDepartments() != null && !filterRequest.getDepartments().isEmpty()) {
-            List<BooleanExpression> departmentPredicates = filterRequest.getDepartments().stream()
-                    .map(Enum::name)
-                    .map(course.departmentString::contains)
-                    .toList();
-
-            BooleanExpression combinedDeptPredicate = departmentPredicates.stream()
-                    .reduce(BooleanExpression::and)
-                    .orElse(null);
-
-            where = (where == null ? combinedDeptPredicate : where.and(combinedDeptPredicate));
+            int wanted = DepartmentConverter.toMask(filterRequest.getDepartments());
+            BooleanExpression departmentPredicate = Expressions.numberTemplate(Integer.class, "bitand({0}, {1})",
+                    course.departmentsMask, wanted).eq(wanted);
+            where = (where == null ? departmentPredicate : where.and(departmentPredicate));
+        }
+        if (filterRequest.hasSearch()) {
+            BooleanExpression searchPredicate = Expressions.booleanTemplate(CourseSearchFunctions.MATCH + "({0}, {1})",
+                    course.id, getSearch(filterRequest));
+            where = (where == null ? searchPredicate : where.and(searchPredicate));
         }
         return where;
     }
 
     /**
-     * Generates a CSV report of courses that match the given filter criteria.
+     * Writes a CSV report of courses that match the given filter criteria to the output stream.
+     * When sorted by ID, the ID range of the matching courses is split into partitions of
+     * {@code app.report.partition-size} IDs that are read concurrently on the report partition pool, each in its own
+     * read-only transaction through a forward-only cursor, and written in order. The partition transactions import the
+     * snapshot of the transaction that found the ID range, which stays open until the report is written, so a
+     * partitioned report reads one point in time like a sequential one. At most as many partitions as the pool
+     * has threads are buffered at once, so a report holds at most that many times the partition size rows in memory
+     * whatever the size of the catalog. Each partition starts at the next matching ID, so gaps in the IDs are skipped.
+     * Other sort orders are read through one cursor.
      *
-     * @param filterRequest Filtering criteria for selecting courses.
-     * @return A byte array representing the CSV file.
-     * Uses a loop to fetch all pages of course data and write them to a CSV file.
+     * @param filterRequest Filtering criteria for selecting courses; paging fields are ignored.
+     * @param outputStream Destination of the CSV, flushed but not closed.
+     * @throws IOException If writing to the output stream or reading a partition fails.
      */
-    @SneakyThrows
-    @Transactional(readOnly = true)
-    public byte[] generateCourseReport(CourseFilterRequest filterRequest) {
-        int currentPage = 0;
-        Page<CourseDto> courses;
-
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out));
-        CSVPrinter csvPrinter = new CSVPrinter(writer, CSVFormat.DEFAULT.withHeader(
-                "Name",
-                "Instructor id",
-                "Department",
-                "Description",
-                "Credits",
-                "Course Code"));
-        do {
-            filterRequest.setPage(currentPage);
-            courses = getCourses(filterRequest);
-
-            for (CourseDto course : courses) {
-                csvPrinter.printRecord(
-                        course.getName(),
-                        course.getInstructorId(),
-                        departmentConverter.convertToDatabaseColumn(course.getDepartments()),
-                        course.getDescription(),
-                        course.getCredits(),
-                        course.getCode());
+    public void writeCourseReport(CourseFilterRequest filterRequest, OutputStream outputStream) throws IOException {
+        QCourse course = QCourse.course;
+        BooleanExpression where = getFilterPredicate(filterRequest, course);
+        OrderSpecifier<?>[] order = getOrder(filterRequest, course);
+        CSVPrinter csvPrinter = new CSVPrinter(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)),
+                CSVFormat.DEFAULT.withHeader(
+                        "Name",
+                        "Instructor id",
+                        "Department",
+                        "Description",
+                        "Credits",
+                        "Course Code"));
+        csvPrinter.flush();
+
+        TransactionTemplate snapshotTransaction = newSnapshotTransaction();
+        inTransaction(snapshotTransaction, () -> {
+            String snapshotId = filterRequest.getSort() == CourseSort.ID ? snapshotRepository.exportSnapshot() : null;
+            Tuple range = queryFactory.select(course.id.min(), course.id.max())
+                    .from(course)
+                    .where(where)
+                    .fetchOne();
+            Long minId = range == null ? null : range.get(0, Long.class);
+            Long maxId = range == null ? null : range.get(1, Long.class);
+            if (minId == null || maxId == null) {
+                return;
+            }
+            if (snapshotId == null || maxId - minId < reportPartitionSize) {
+                printReportRows(where, order, minId, maxId, csvPrinter);
+                csvPrinter.flush();
+                return;
             }
-            currentPage++;
-        } while (currentPage < courses.getTotalPages());
+            writePartitions(snapshotTransaction, snapshotId, where, order, minId, maxId,
+                    filterRequest.getDirection() == Sort.Direction.DESC, outputStream);
+        });
+    }
+
+    /**
+     * Reads the partitions of the report in the exported snapshot while the exporting transaction is open.
+     */
+    private void writePartitions(TransactionTemplate snapshotTransaction, String snapshotId, BooleanExpression where,
+                                 OrderSpecifier<?>[] order, long minId, long maxId, boolean descending,
+                                 OutputStream outputStream) throws IOException {
+        int window = Math.max(1, reportPartitionExecutor.getMaxPoolSize());
+        Deque<Future<byte[]>> pending = new ArrayDeque<>(window);
+        Long nextId = descending ? maxId : minId;
+        try {
+            while (nextId != null || !pending.isEmpty()) {
+                while (nextId != null && pending.size() < window) {
+                    long[] partition = idPartition(nextId, minId, maxId, reportPartitionSize, descending);
+                    pending.add(reportPartitionExecutor.submit(
+                            () -> renderReportPartition(snapshotTransaction, snapshotId, where, order, partition)));
+                    nextId = nextReportId(where, partition, descending);
+                }
+                outputStream.write(await(pending.poll()));
+                outputStream.flush();
+            }
+        } finally {
+            pending.forEach(partition -> partition.cancel(true));
+        }
+    }
 
+    /**
+     * Returns the inclusive range of at most the given number of IDs that starts at the given ID, or ends at it when
+     * descending, clipped to the ID range of the report.
+     */
+    static long[] idPartition(long startId, long minId, long maxId, long partitionSize, boolean descending) {
+        if (descending) {
+            return new long[]{startId - minId < partitionSize ? minId : startId - partitionSize + 1, startId};
+        }
+        return new long[]{startId, maxId - startId < partitionSize ? maxId : startId + partitionSize - 1};
+    }
+
+    /**
+     * Finds the first matching ID past the partition, so gaps in the ID sequence do not produce empty partitions.
+     */
+    private Long nextReportId(BooleanExpression where, long[] partition, boolean descending) {
+        QCourse course = QCourse.course;
+        return descending
+                ? queryFactory.select(course.id.max()).from(course).where(course.id.lt(partition[0]).and(where)).fetchOne()
+                : queryFactory.select(course.id.min()).from(course).where(course.id.gt(partition[1]).and(where)).fetchOne();
+    }
+
+    private byte[] renderReportPartition(TransactionTemplate snapshotTransaction, String snapshotId, BooleanExpression where,
+                                         OrderSpecifier<?>[] order, long[] partition)
+            throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        CSVPrinter csvPrinter = new CSVPrinter(new OutputStreamWriter(buffer, StandardCharsets.UTF_8), CSVFormat.DEFAULT);
+        inTransaction(snapshotTransaction, () -> {
+            snapshotRepository.importSnapshot(snapshotId);
+            printReportRows(where, order, partition[0], partition[1], csvPrinter);
+        });
         csvPrinter.flush();
-        csvPrinter.close();
+        return buffer.toByteArray();
+    }
+
+    private void printReportRows(BooleanExpression where, OrderSpecifier<?>[] order, long fromId, long toId, CSVPrinter csvPrinter)
+            throws IOException {
+        QCourse course = QCourse.course;
+        try (Stream<Tuple> rows = queryFactory.select(course.name, course.instructor.id, course.departmentsMask,
+                        course.description, course.credits, course.code)
+                .from(course)
+                .where(course.id.between(fromId, toId).and(where))
+                .orderBy(order)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, reportFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .stream()) {
+            Iterator<Tuple> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                Tuple row = iterator.next();
+                csvPrinter.printRecord(
+                        row.get(course.name),
+                        row.get(course.instructor.id),
+                        DepartmentConverter.toNames(row.get(course.departmentsMask)),
+                        row.get(course.description),
+                        row.get(course.credits),
+                        row.get(course.code));
+            }
+        }
+    }
 
-        return out.toByteArray();
+    private TransactionTemplate newReadOnlyTransaction() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction;
     }
-}
 
+    /**
+     * Read-only REPEATABLE READ transaction, which keeps one snapshot for all its statements and can export
+     * or import it.
+     */
+    private TransactionTemplate newSnapshotTransaction() {
+        TransactionTemplate transaction = newReadOnlyTransaction();
+        transaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        return transaction;
+    }
 
+    private static void inTransaction(TransactionTemplate transaction, ReportWork work) throws IOException {
+        try {
+            transaction.executeWithoutResult(status -> {
+                try {
+                    work.run();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
 
+    private static byte[] await(Future<byte[]> partition) throws IOException {
+        try {
+            return partition.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Report was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException("Failed to read a report partition", e.getCause());
+        }
+    }
+
+    @FunctionalInterface
+    private interface ReportWork {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,27 @@
+package com.task2.service;
+
+import com.task2.model.dto.CourseDto;
+
+import java.io.IOException;
+
+/**
+ * Destination for the validated courses of an upload. Each implementation persists courses its own way
+ * and reports created and rejected records to the upload's {@link UploadProgress}.
+ */
+interface CourseSink extends AutoCloseable {
+
+    /**
+     * @param index Position of the record in the uploaded file, used when reporting a rejection.
+     * @param courseDto Validated course.
+     */
+    void write(long index, CourseDto courseDto) throws IOException;
+
+    /**
+     * Persists whatever is still buffered once the whole file has been read.
+     */
+    void finish() throws IOException;
+
+    @Override
+    default void close() throws IOException {
+    }
+}
@@ -1,20 +1,45 @@
 package com.task2.service;
 
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.JsonToken;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.task2.model.annotation.UniquenessChecks;
+import com.task2.model.constant.IngestMode;
+import com.task2.model.constant.UploadFormat;
 import com.task2.model.dto.CourseDto;
 import com.task2.model.dto.UploadFileResponse;
+import com.task2.repository.CourseStagingRepository;
+import com.task2.util.AdaptiveBatchSizer;
+import com.task2.util.CourseRecordReader;
+import com.task2.util.CsvCourseReader;
+import com.task2.util.JsonArrayCourseReader;
+import com.task2.util.ListCourseReader;
+import com.task2.util.NdjsonCourseReader;
+import jakarta.annotation.PostConstruct;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
+import jakarta.validation.groups.Default;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
 @Service
 @RequiredArgsConstructor
@@ -23,37 +48,244 @@ public class FileParserService {
     private final ObjectMapper objectMapper;
     private final Validator validator;
     private final CourseService courseService;
+    private final CourseStagingRepository courseStagingRepository;
+    private final ThreadPoolTaskExecutor uploadParserExecutor;
+    private final ThreadPoolTaskExecutor uploadValidationExecutor;
+    private final UploadCheckpointService uploadCheckpointService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int FINGERPRINT_BLOCK_SIZE = 64 * 1024;
+
+    private ObjectReader courseReader;
+
+    @Value("${app.upload.max-reported-rejections:1000}")
+    private int maxReportedRejections;
+
+    @Value("${app.upload.pipeline.validator-threads:2}")
+    private int validatorThreads;
+
+    @Value("${app.upload.pipeline.queue-capacity:1000}")
+    private int pipelineQueueCapacity;
+
+    @Value("${app.upload.checkpoints.interval-millis:200}")
+    private long checkpointIntervalMillis;
+
+    @Value("${app.upload.batch.initial-size:200}")
+    private int initialBatchSize;
+
+    @Value("${app.upload.batch.min-size:50}")
+    private int minBatchSize;
+
+    @Value("${app.upload.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    @Value("${app.upload.batch.target-commit-millis:500}")
+    private long targetCommitMillis;
+
+    @PostConstruct
+    void initCourseReader() {
+        courseReader = objectMapper.readerFor(CourseDto.class);
+    }
 
     /**
-     * Processes a JSON file containing course data, attempting to create course records for each valid entry.
+     * Processes an uploaded file containing course data, attempting to create course records for each valid entry.
+     * JSON arrays, newline-delimited JSON and CSV are accepted, optionally gzip-compressed. The file is streamed
+     * record by record, so its size is not limited by the heap, and parsing, validation and writing run
+     * concurrently in a pipeline.
      *
-     * @param file The multipart file containing JSON data to be parsed.
-     * @return UploadFileResponse containing counts of successful and failed course creations.
-     * @throws IOException If there is an issue reading from the file.
+     * @param file The multipart file containing the course data.
+     * @param mode RECORD creates every course in its own transaction, BATCH commits valid courses in chunks
+     *             whose size adapts to the measured commit latency and checks instructors and code uniqueness
+     *             once per chunk, COPY streams them into a staging table and merges them in one statement
+     *             that also checks instructors and code uniqueness, UPSERT works like BATCH but inserts or updates
+     *             courses by code with one statement per chunk and skips courses that did not change.
+     * @param uploadId ID chosen by the client to make the upload resumable, or null for an upload that is not
+     *                 checkpointed. RECORD, BATCH and UPSERT uploads with an ID save a checkpoint as records are
+     *                 committed, and a retry of the same file with the same ID skips the records before it.
+     *                 COPY loads are atomic and always start over.
+     * @return UploadFileResponse containing the upload ID, counts of successful and failed course creations
+     * and the index and reason of rejected records.
+     * @throws IOException If there is an issue reading from the file or loading the courses.
      */
-    public UploadFileResponse processJsonFile(MultipartFile file) throws IOException {
-        Integer successful = 0;
-        Integer failed = 0;
-        try (InputStream inputStream = file.getInputStream();
-             JsonParser jsonParser = objectMapper.getFactory().createParser(inputStream)) {
-            while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
-                if (jsonParser.getCurrentToken() == JsonToken.START_OBJECT) {
-                    JsonNode node = objectMapper.readTree(jsonParser);
-                    try {
-                        CourseDto courseDto = objectMapper.treeToValue(node, CourseDto.class);
-                        Set<ConstraintViolation<CourseDto>> violations = validator.validate(courseDto);
-                        if (violations.isEmpty()) {
-                            courseService.createCourse(courseDto);
-                            successful++;
-                        } else {
-                            failed++;
-                        }
-                    } catch (Exception e) {
-                        failed++;
-                    }
+    public UploadFileResponse processFile(MultipartFile file, IngestMode mode, String uploadId) throws IOException {
+        UploadProgress progress = newProgress(uploadId, file, mode);
+        try (InputStream inputStream = file.getInputStream()) {
+            process(inputStream, file.getOriginalFilename(), mode, progress);
+        }
+        return progress.toResponse();
+    }
+
+    /**
+     * Creates the progress of a new upload, resuming the checkpoint of an earlier attempt if there is one.
+     * Only uploads with an ID are checkpointed; without one nothing is saved, as there is nothing to resume.
+     *
+     * @param uploadId ID of the upload, or null if the upload is not resumable.
+     * @param file The uploaded file, which must have the same size and first block as the earlier attempt.
+     * @param mode Ingestion mode; COPY loads are not checkpointed.
+     * @return UploadProgress that skips the records committed by earlier attempts.
+     * @throws IOException If the file cannot be read to fingerprint it.
+     * Throws InvalidUploadRequestException if the upload ID was used for a different file.
+     */
+    public UploadProgress newProgress(String uploadId, MultipartFile file, IngestMode mode) throws IOException {
+        if (uploadId == null || mode == IngestMode.COPY) {
+            return newProgress();
+        }
+        long resumedFrom = uploadCheckpointService.open(uploadId, file.getOriginalFilename(), file.getSize(), fingerprint(file));
+        return new UploadProgress(maxReportedRejections, uploadId, resumedFrom, uploadCheckpointService, checkpointIntervalMillis);
+    }
+
+    /**
+     * Hashes the first block of the file, cheap enough for any file size and enough to tell apart
+     * two different files of the same size sent with the same upload ID.
+     */
+    private static String fingerprint(MultipartFile file) throws IOException {
+        try (InputStream inputStream = file.getInputStream()) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(inputStream.readNBytes(FINGERPRINT_BLOCK_SIZE)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Streams courses from uploaded content and reports every outcome to the given progress. Reading stops early
+     * once the progress is cancelled; courses committed before that are kept, a COPY load is rolled back.
+     *
+     * @param inputStream The content, closed by the caller.
+     * @param fileName Original file name, used to tell CSV from JSON when the content alone is ambiguous. May be null.
+     * @param mode Ingestion mode, see {@link #processFile(MultipartFile, IngestMode, String)}.
+     * @param progress Receives the counts and rejections while the upload is running.
+     * @throws IOException If there is an issue reading the content or loading the courses.
+     */
+    public void process(InputStream inputStream, String fileName, IngestMode mode, UploadProgress progress) throws IOException {
+        ingest(openReader(inputStream, fileName), mode, progress);
+    }
+
+    /**
+     * Validates and writes courses sent in a request body, the same way as the records of an uploaded file.
+     *
+     * @param courseDtos The courses to write.
+     * @param mode Ingestion mode, see {@link #processFile(MultipartFile, IngestMode, String)}.
+     * @return UploadFileResponse containing counts of successful and failed courses,
+     * and the index and reason of rejected ones.
+     * @throws IOException If the courses cannot be loaded.
+     */
+    public UploadFileResponse processCourses(List<CourseDto> courseDtos, IngestMode mode) throws IOException {
+        UploadProgress progress = newProgress();
+        ingest(new ListCourseReader(courseDtos), mode, progress);
+        return progress.toResponse();
+    }
+
+    private UploadProgress newProgress() {
+        return new UploadProgress(maxReportedRejections);
+    }
+
+    private void ingest(CourseRecordReader recordReader, IngestMode mode, UploadProgress progress) throws IOException {
+        Class<?>[] validationGroups = mode == IngestMode.RECORD
+                ? new Class<?>[]{Default.class, UniquenessChecks.class}
+                : new Class<?>[]{Default.class};
+        IngestPipeline pipeline = new IngestPipeline(uploadParserExecutor, uploadValidationExecutor, validatorThreads, pipelineQueueCapacity);
+        try (CourseRecordReader reader = recordReader;
+             CourseSink sink = openSink(mode, progress)) {
+            pipeline.run(reader, courseDto -> validate(courseDto, validationGroups), sink, progress);
+        }
+    }
+
+    /**
+     * Unwraps gzip and picks the reader for the format of the content.
+     */
+    private CourseRecordReader openReader(InputStream inputStream, String fileName) throws IOException {
+        BufferedInputStream content = new BufferedInputStream(inputStream, READ_BUFFER_SIZE);
+        if (isGzip(content)) {
+            content = new BufferedInputStream(new GZIPInputStream(content, READ_BUFFER_SIZE), READ_BUFFER_SIZE);
+        }
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".gz")) {
+            name = name.substring(0, name.length() - 3);
+        }
+        UploadFormat format = detectFormat(content, name);
+        switch (format) {
+            case NDJSON:
+                return new NdjsonCourseReader(new BufferedReader(new InputStreamReader(content, StandardCharsets.UTF_8)), courseReader);
+            case CSV:
+                return new CsvCourseReader(new InputStreamReader(content, StandardCharsets.UTF_8), courseReader);
+            default:
+                return new JsonArrayCourseReader(objectMapper.getFactory().createParser(content), courseReader);
+        }
+    }
+
+    private static boolean isGzip(BufferedInputStream content) throws IOException {
+        content.mark(2);
+        int first = content.read();
+        int second = content.read();
+        content.reset();
+        return first == 0x1f && second == 0x8b;
+    }
+
+    /**
+     * Uses the file extension when it names a format, otherwise the first non-blank character of the content:
+     * {@code [} starts a JSON array, <code>{</code> a line of NDJSON, anything else is taken as a CSV header.
+     * A UTF-8 byte order mark is skipped.
+     */
+    private static UploadFormat detectFormat(BufferedInputStream content, String fileName) throws IOException {
+        content.mark(3);
+        if (content.read() != 0xef || content.read() != 0xbb || content.read() != 0xbf) {
+            content.reset();
+        }
+        if (fileName.endsWith(".csv")) {
+            return UploadFormat.CSV;
+        }
+        if (fileName.endsWith(".ndjson") || fileName.endsWith(".jsonl")) {
+            return UploadFormat.NDJSON;
+        }
+        content.mark(READ_BUFFER_SIZE);
+        try {
+            int next;
+            for (int read = 0; read < READ_BUFFER_SIZE && (next = content.read()) != -1; read++) {
+                if (!Character.isWhitespace(next)) {
+                    return next == '[' ? UploadFormat.JSON : next == '{' ? UploadFormat.NDJSON : UploadFormat.CSV;
                 }
             }
+            return UploadFormat.JSON;
+        } finally {
+            content.reset();
+        }
+    }
+
+    private String validate(CourseDto courseDto, Class<?>[] validationGroups) {
+        try {
+            return describeViolations(validator.validate(courseDto, validationGroups));
+        } catch (Exception e) {
+            return e.getMessage();
+        }
+    }
+
+    private static String describeViolations(Set<ConstraintViolation<CourseDto>> violations) {
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private CourseSink openSink(IngestMode mode, UploadProgress progress) throws IOException {
+        switch (mode) {
+            case BATCH:
+            case UPSERT:
+                return new BatchCourseSink(courseService,
+                        new AdaptiveBatchSizer(initialBatchSize, minBatchSize, maxBatchSize, targetCommitMillis), progress,
+                        mode == IngestMode.UPSERT);
+            case COPY:
+                try {
+                    return new CopyCourseSink(courseStagingRepository.openCopySession(), progress, eventPublisher);
+                } catch (SQLException e) {
+                    throw new IOException("Failed to start the COPY load", e);
+                }
+            default:
+                return new RecordCourseSink(courseService, progress);
         }
-        return new UploadFileResponse(successful, failed);
     }
 }
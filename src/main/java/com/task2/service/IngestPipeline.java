@@ -0,0 +1,291 @@
+package com.task2.service;
+
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.task2.model.dto.CourseDto;
+import com.task2.model.dto.UploadStageStats;
+import com.task2.util.CourseRecord;
+import com.task2.util.CourseRecordReader;
+import com.task2.util.MalformedUploadException;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Runs one upload as three stages connected by bounded queues: a task on the parser pool parses the file, a number
+ * of validation tasks check the courses and the calling thread writes them to the sink. A full queue blocks
+ * the stage feeding it, so a slow writer throttles parsing instead of letting records pile up in memory.
+ * Validated records may reach the writer out of file order; they keep their file index.
+ */
+class IngestPipeline {
+
+    private static final CourseRecord END = new CourseRecord(-1, null, null);
+    private static final long POLL_MILLIS = 100;
+    private static final int PARSER_PENDING = 0;
+    private static final int PARSER_RUNNING = 1;
+    private static final int PARSER_ABANDONED = 2;
+
+    private final AsyncTaskExecutor parserExecutor;
+    private final AsyncTaskExecutor validationExecutor;
+    private final int validatorThreads;
+    private final BlockingQueue<CourseRecord> parsed;
+    private final BlockingQueue<CourseRecord> validated;
+    private final Stage parseStage;
+    private final Stage validateStage;
+    private final Stage writeStage;
+    private final AtomicReference<Exception> failure = new AtomicReference<>();
+    private final AtomicInteger parserState = new AtomicInteger(PARSER_PENDING);
+    private final CountDownLatch parserStopped = new CountDownLatch(1);
+
+    IngestPipeline(AsyncTaskExecutor parserExecutor, AsyncTaskExecutor validationExecutor, int validatorThreads, int queueCapacity) {
+        this.parserExecutor = parserExecutor;
+        this.validationExecutor = validationExecutor;
+        this.validatorThreads = Math.max(1, validatorThreads);
+        this.parsed = new ArrayBlockingQueue<>(queueCapacity);
+        this.validated = new ArrayBlockingQueue<>(queueCapacity);
+        this.parseStage = new Stage("parse", 1, null);
+        this.validateStage = new Stage("validate", this.validatorThreads, parsed);
+        this.writeStage = new Stage("write", 1, validated);
+    }
+
+    /**
+     * Streams the records of the reader through validation into the sink and reports every outcome
+     * to the progress. Records committed by an earlier attempt of the upload are skipped without being bound.
+     * Returns once all stages have stopped; the sink is finished unless the progress was cancelled,
+     * and the checkpoint is saved whatever the outcome.
+     *
+     * @param reader Source of the records, only read by the parse thread.
+     * @param validation Returns the violations of a course, or null if it is valid. Called concurrently.
+     * @param sink Receives the valid courses, only used by the calling thread.
+     * @param progress Receives the counts and rejections while the upload is running.
+     * @throws IOException If reading, validating or writing fails; the other stages are stopped.
+     * Throws TaskRejectedException if the parser or validation pool cannot take the upload.
+     */
+    void run(CourseRecordReader reader, Function<CourseDto, String> validation, CourseSink sink, UploadProgress progress)
+            throws IOException {
+        progress.attach(this);
+        Future<?> parser = null;
+        List<Future<?>> validators = new ArrayList<>(validatorThreads);
+        boolean completed = false;
+        writeStage.start();
+        try {
+            parser = parserExecutor.submit(() -> runParser(reader, progress));
+            for (int i = 0; i < validatorThreads; i++) {
+                validators.add(validationExecutor.submit(() -> validate(validation, progress)));
+            }
+            write(sink, progress);
+            completed = !progress.isCancelled();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Upload was interrupted");
+        } finally {
+            writeStage.finish();
+            validators.forEach(validator -> validator.cancel(true));
+            stopParser(parser);
+            progress.saveCheckpoint(completed);
+        }
+    }
+
+    List<UploadStageStats> getStats() {
+        return List.of(parseStage.toStats(), validateStage.toStats(), writeStage.toStats());
+    }
+
+    private void write(CourseSink sink, UploadProgress progress) throws IOException, InterruptedException {
+        int finishedValidators = 0;
+        while (finishedValidators < validatorThreads) {
+            CourseRecord record = validated.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            rethrowFailure();
+            if (record == null) {
+                continue;
+            }
+            if (record == END) {
+                finishedValidators++;
+            } else if (!progress.isCancelled()) {
+                long start = System.nanoTime();
+                sink.write(record.index(), record.course());
+                writeStage.record(System.nanoTime() - start);
+                progress.checkpoint();
+            }
+        }
+        if (!progress.isCancelled()) {
+            long start = System.nanoTime();
+            sink.finish();
+            writeStage.busy(System.nanoTime() - start);
+        }
+    }
+
+    private void runParser(CourseRecordReader reader, UploadProgress progress) {
+        if (!parserState.compareAndSet(PARSER_PENDING, PARSER_RUNNING)) {
+            return;
+        }
+        try {
+            parse(reader, progress);
+        } finally {
+            parserStopped.countDown();
+        }
+    }
+
+    /**
+     * Interrupts the parser and waits until it no longer reads, so the caller can close the reader.
+     * A parser task that has not started yet is abandoned instead.
+     */
+    private void stopParser(Future<?> parser) {
+        if (parser == null || parserState.compareAndSet(PARSER_PENDING, PARSER_ABANDONED)) {
+            return;
+        }
+        parser.cancel(true);
+        try {
+            parserStopped.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void parse(CourseRecordReader reader, UploadProgress progress) {
+        parseStage.start();
+        try {
+            long start = System.nanoTime();
+            progress.recordSkipped(reader.skip(progress.getResumedFrom()));
+            parseStage.busy(System.nanoTime() - start);
+            start = System.nanoTime();
+            CourseRecord record;
+            while (!progress.isCancelled() && (record = readNext(reader, progress)) != null) {
+                progress.recordProcessed();
+                parseStage.record(System.nanoTime() - start);
+                if (record.isRejected()) {
+                    progress.recordRejection(record.index(), record.error());
+                } else {
+                    parsed.put(record);
+                }
+                start = System.nanoTime();
+            }
+            for (int i = 0; i < validatorThreads; i++) {
+                parsed.put(END);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            parseStage.finish();
+        }
+    }
+
+    /**
+     * Reads the next record. Malformed JSON or CSV cannot be resynchronised, so it ends the upload with a rejection
+     * for the element where it occurred while keeping the records processed before it.
+     */
+    private static CourseRecord readNext(CourseRecordReader reader, UploadProgress progress) throws IOException {
+        try {
+            return reader.next();
+        } catch (StreamReadException e) {
+            progress.recordRejection(reader.getNextIndex(), "Malformed JSON, the rest of the file was skipped: " + e.getOriginalMessage());
+            return null;
+        } catch (MalformedUploadException e) {
+            progress.recordRejection(reader.getNextIndex(), e.getMessage() + ", the rest of the file was skipped");
+            return null;
+        }
+    }
+
+    private void validate(Function<CourseDto, String> validation, UploadProgress progress) {
+        validateStage.start();
+        try {
+            CourseRecord record;
+            while ((record = parsed.take()) != END) {
+                if (progress.isCancelled()) {
+                    continue;
+                }
+                long start = System.nanoTime();
+                String violations = validation.apply(record.course());
+                validateStage.record(System.nanoTime() - start);
+                if (violations == null) {
+                    validated.put(record);
+                } else {
+                    progress.recordRejection(record.index(), violations);
+                }
+            }
+            validated.put(END);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            validateStage.finish();
+        }
+    }
+
+    private void rethrowFailure() throws IOException {
+        Exception exception = failure.get();
+        if (exception instanceof IOException ioException) {
+            throw ioException;
+        }
+        if (exception instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (exception != null) {
+            throw new IOException(exception);
+        }
+    }
+
+    /**
+     * Counters of one stage. Busy time only covers the work itself, not waiting on the queues.
+     */
+    private static final class Stage {
+
+        private final String name;
+        private final int threads;
+        private final BlockingQueue<CourseRecord> input;
+        private final AtomicLong records = new AtomicLong();
+        private final AtomicLong busyNanos = new AtomicLong();
+        private final AtomicLong startNanos = new AtomicLong();
+        private final AtomicInteger running = new AtomicInteger();
+        private volatile long endNanos;
+
+        private Stage(String name, int threads, BlockingQueue<CourseRecord> input) {
+            this.name = name;
+            this.threads = threads;
+            this.input = input;
+        }
+
+        void start() {
+            startNanos.compareAndSet(0, System.nanoTime());
+            running.incrementAndGet();
+        }
+
+        void finish() {
+            endNanos = System.nanoTime();
+            running.decrementAndGet();
+        }
+
+        void record(long nanos) {
+            records.incrementAndGet();
+            busy(nanos);
+        }
+
+        void busy(long nanos) {
+            busyNanos.addAndGet(nanos);
+        }
+
+        UploadStageStats toStats() {
+            long start = startNanos.get();
+            long end = running.get() > 0 || endNanos == 0 ? System.nanoTime() : endNanos;
+            long elapsed = start == 0 ? 0 : end - start;
+            double recordsPerSecond = elapsed > 0 ? records.get() * 1e9 / elapsed : 0.0;
+            double utilization = elapsed > 0 ? Math.min(1.0, busyNanos.get() / ((double) elapsed * threads)) : 0.0;
+            return new UploadStageStats(name, threads, records.get(), recordsPerSecond, utilization,
+                    input == null ? null : input.size(),
+                    input == null ? null : input.size() + input.remainingCapacity());
+        }
+    }
+}
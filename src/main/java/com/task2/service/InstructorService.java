@@ -3,18 +3,31 @@ package com.task2.service;
 import com.task2.exception.InstructorHasCoursesException;
 import com.task2.model.Course;
 import com.task2.model.Instructor;
+import com.task2.model.dto.BatchResponse;
+import com.task2.model.dto.EntityCacheStats;
 import com.task2.model.dto.InstructorDto;
+import com.task2.model.event.InstructorChangedEvent;
 import com.task2.model.mapper.InstructorMapper;
 import com.task2.repository.CourseRepository;
 import com.task2.repository.InstructorRepository;
+import com.task2.util.BatchLookup;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +36,11 @@ public class InstructorService {
     private final InstructorRepository instructorRepository;
     private final CourseRepository courseRepository;
     private final InstructorMapper instructorMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${app.batch.max-ids:1000}")
+    private int batchMaxIds;
 
     /**
      * Retrieves all instructors as a paginated list of InstructorDto.
@@ -36,6 +54,35 @@ public class InstructorService {
                 .map(instructorMapper::toDto);
     }
 
+    /**
+     * Retrieves many instructors by one query for the distinct IDs.
+     *
+     * @param ids IDs of the instructors to retrieve, possibly repeated.
+     * @return BatchResponse with an InstructorDto per requested ID in request order, null where the instructor does not
+     * exist, and the IDs that were not found.
+     * Throws InvalidBatchRequestException if there are more than {@code app.batch.max-ids} IDs or a null ID.
+     */
+    @Transactional(readOnly = true)
+    public BatchResponse<InstructorDto> getInstructorsByIds(List<Long> ids) {
+        Set<Long> distinctIds = BatchLookup.distinctIds(ids, batchMaxIds);
+        Map<Long, InstructorDto> found = new HashMap<>();
+        for (Instructor instructor : instructorRepository.findAllById(distinctIds)) {
+            found.put(instructor.getId(), instructorMapper.toDto(instructor));
+        }
+        return BatchLookup.inRequestOrder(ids, found);
+    }
+
+    /**
+     * Reports how well the second-level cache regions of instructors, by ID and by email, are serving lookups.
+     * Hibernate only counts while {@code app.cache.hibernate-statistics} is enabled, otherwise every count is zero.
+     *
+     * @return EntityCacheStats per region with its hit, miss and put counts and the hit rate.
+     */
+    public List<EntityCacheStats> getCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return List.of(toStats(statistics, Instructor.CACHE_REGION), toStats(statistics, Instructor.EMAIL_CACHE_REGION));
+    }
+
     /**
      * Creates a new instructor from the provided InstructorDto.
      *
@@ -46,6 +93,7 @@ public class InstructorService {
     public void createInstructor(InstructorDto instructorDto) {
         Instructor instructor = instructorMapper.toEntity(instructorDto);
         instructorRepository.save(instructor);
+        eventPublisher.publishEvent(new InstructorChangedEvent(instructor.getId()));
     }
 
     /**
@@ -61,6 +109,7 @@ public class InstructorService {
         instructor.setFirstName(instructorDto.getFirstName());
         instructor.setLastName(instructorDto.getLastName());
         instructor.setEmail(instructorDto.getEmail());
+        eventPublisher.publishEvent(new InstructorChangedEvent(id));
     }
 
     /**
@@ -81,5 +130,14 @@ public class InstructorService {
         }
 
         instructorRepository.deleteById(id);
+        eventPublisher.publishEvent(new InstructorChangedEvent(id));
+    }
+
+    private static EntityCacheStats toStats(Statistics statistics, String region) {
+        CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+        long hits = regionStatistics.getHitCount();
+        long misses = regionStatistics.getMissCount();
+        double hitRate = hits + misses == 0 ? 0.0 : (double) hits / (hits + misses);
+        return new EntityCacheStats(region, hits, misses, regionStatistics.getPutCount(), hitRate);
     }
 }
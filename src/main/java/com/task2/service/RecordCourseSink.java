@@ -0,0 +1,31 @@
+package com.task2.service;
+
+import com.task2.model.dto.CourseDto;
+
+/**
+ * Creates every course in its own transaction.
+ */
+class RecordCourseSink implements CourseSink {
+
+    private final CourseService courseService;
+    private final UploadProgress progress;
+
+    RecordCourseSink(CourseService courseService, UploadProgress progress) {
+        this.courseService = courseService;
+        this.progress = progress;
+    }
+
+    @Override
+    public void write(long index, CourseDto courseDto) {
+        try {
+            courseService.createCourse(courseDto);
+            progress.recordSuccess(index);
+        } catch (Exception e) {
+            progress.recordRejection(index, e.getMessage());
+        }
+    }
+
+    @Override
+    public void finish() {
+    }
+}
@@ -0,0 +1,31 @@
+package com.task2.service;
+
+import java.nio.file.Path;
+
+/**
+ * A download in progress of a completed report file. The file is not deleted, even once the report has expired,
+ * until every download of it is closed.
+ */
+public final class ReportDownload implements AutoCloseable {
+
+    private final Path file;
+    private final Runnable release;
+    private boolean closed;
+
+    public ReportDownload(Path file, Runnable release) {
+        this.file = file;
+        this.release = release;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            release.run();
+        }
+    }
+}
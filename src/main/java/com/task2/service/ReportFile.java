@@ -0,0 +1,87 @@
+package com.task2.service;
+
+import com.task2.model.constant.ReportFileState;
+import com.task2.model.dto.CourseFilterRequest;
+import com.task2.model.dto.ReportFileStatus;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * State of one report spooled to disk. The state fields are written by the report thread and read by status requests;
+ * the download count and deleted flag are guarded by the instance lock so a file is never deleted while it is sent.
+ */
+@Getter
+class ReportFile {
+
+    private final String id;
+    private final CourseFilterRequest filterRequest;
+    private final Path file;
+    private final Instant submittedAt = Instant.now();
+    private volatile ReportFileState state = ReportFileState.QUEUED;
+    private volatile Instant finishedAt;
+    private volatile Long size;
+    private volatile String error;
+    private int downloads;
+    private boolean deleted;
+
+    ReportFile(String id, CourseFilterRequest filterRequest, Path file) {
+        this.id = id;
+        this.filterRequest = filterRequest;
+        this.file = file;
+    }
+
+    void start() {
+        state = ReportFileState.RUNNING;
+    }
+
+    void finish(ReportFileState finalState, Long size, String error) {
+        this.size = size;
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.state = finalState;
+    }
+
+    synchronized boolean startDownload() {
+        if (deleted) {
+            return false;
+        }
+        downloads++;
+        return true;
+    }
+
+    synchronized void endDownload() {
+        downloads--;
+    }
+
+    /**
+     * Marks the report deleted unless it is being downloaded, after which no download can start.
+     *
+     * @return true if the file can be deleted.
+     */
+    synchronized boolean markDeleted() {
+        if (downloads > 0) {
+            return false;
+        }
+        deleted = true;
+        return true;
+    }
+
+    boolean isExpired(Duration ttl) {
+        return finishedAt != null && finishedAt.plus(ttl).isBefore(Instant.now());
+    }
+
+    ReportFileStatus toStatus(Duration ttl) {
+        ReportFileStatus status = new ReportFileStatus();
+        status.setReportId(id);
+        status.setState(state);
+        status.setSize(size);
+        status.setSubmittedAt(submittedAt);
+        status.setFinishedAt(finishedAt);
+        status.setExpiresAt(finishedAt == null ? null : finishedAt.plus(ttl));
+        status.setError(error);
+        return status;
+    }
+}
@@ -0,0 +1,158 @@
+package com.task2.service;
+
+import com.task2.exception.ReportNotReadyException;
+import com.task2.model.constant.ReportFileState;
+import com.task2.model.dto.CourseFilterRequest;
+import com.task2.model.dto.ReportFileStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates course reports into files in a spool directory, so a large report is produced once and can be
+ * downloaded, resumed and downloaded again until it expires. Expired reports are removed by a periodic sweep
+ * and whenever reports are submitted or looked up, except while a download of the file is in progress, in which
+ * case the next sweep removes them; files left over from a previous run are removed at startup.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReportFileService {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final CourseService courseService;
+    private final ThreadPoolTaskExecutor reportFileExecutor;
+    private final Map<String, ReportFile> reports = new ConcurrentHashMap<>();
+
+    @Value("${app.report.spool.directory:${java.io.tmpdir}/course-reports}")
+    private String spoolDirectory;
+
+    @Value("${app.report.spool.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    private Path spool;
+    private Duration ttl;
+
+    @PostConstruct
+    void initSpool() throws IOException {
+        spool = Files.createDirectories(Path.of(spoolDirectory));
+        ttl = Duration.ofMinutes(ttlMinutes);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spool, "report-*")) {
+            for (Path file : files) {
+                deleteQuietly(file);
+            }
+        }
+    }
+
+    /**
+     * Queues the generation of a report file on the report executor.
+     *
+     * @param filterRequest Filtering criteria of the report; paging fields are ignored.
+     * @return ReportFileStatus of the queued report, including the report ID to poll and download.
+     * Throws TaskRejectedException if the report queue is full.
+     */
+    public ReportFileStatus submit(CourseFilterRequest filterRequest) {
+        pruneExpiredReports();
+        String reportId = UUID.randomUUID().toString();
+        ReportFile report = new ReportFile(reportId, filterRequest, spool.resolve("report-" + reportId + ".csv"));
+        reports.put(reportId, report);
+        try {
+            reportFileExecutor.execute(() -> run(report));
+        } catch (TaskRejectedException e) {
+            reports.remove(reportId);
+            throw e;
+        }
+        return report.toStatus(ttl);
+    }
+
+    /**
+     * Retrieves the state of a report file.
+     *
+     * @param reportId The ID returned when the report was submitted.
+     * @return ReportFileStatus with the state, the size once completed and the expiry time.
+     * Throws EntityNotFoundException if the report does not exist or has expired.
+     */
+    public ReportFileStatus getStatus(String reportId) {
+        return getReport(reportId).toStatus(ttl);
+    }
+
+    /**
+     * Starts a download of the file of a completed report. The file is kept until the returned download is closed.
+     *
+     * @param reportId The ID returned when the report was submitted.
+     * @return ReportDownload giving the path of the CSV file; it must be closed once the file has been sent.
+     * Throws EntityNotFoundException if the report does not exist or has expired.
+     * Throws ReportNotReadyException if the report is still being generated or has failed.
+     */
+    public ReportDownload openDownload(String reportId) {
+        ReportFile report = getReport(reportId);
+        if (report.getState() != ReportFileState.COMPLETED) {
+            throw new ReportNotReadyException("Report " + reportId + " is " + report.getState());
+        }
+        if (!report.startDownload()) {
+            throw new EntityNotFoundException("Report not found with ID: " + reportId);
+        }
+        return new ReportDownload(report.getFile(), report::endDownload);
+    }
+
+    private ReportFile getReport(String reportId) {
+        pruneExpiredReports();
+        ReportFile report = reports.get(reportId);
+        if (report == null) {
+            throw new EntityNotFoundException("Report not found with ID: " + reportId);
+        }
+        return report;
+    }
+
+    private void run(ReportFile report) {
+        report.start();
+        Path partial = report.getFile().resolveSibling(report.getFile().getFileName() + ".tmp");
+        try {
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(partial), WRITE_BUFFER_SIZE)) {
+                courseService.writeCourseReport(report.getFilterRequest(), outputStream);
+            }
+            Files.move(partial, report.getFile(), StandardCopyOption.ATOMIC_MOVE);
+            report.finish(ReportFileState.COMPLETED, Files.size(report.getFile()), null);
+        } catch (Exception e) {
+            deleteQuietly(partial);
+            report.finish(ReportFileState.FAILED, null, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.report.spool.sweep-interval-seconds:60}", timeUnit = TimeUnit.SECONDS)
+    void pruneExpiredReports() {
+        reports.values().removeIf(report -> {
+            if (!report.isExpired(ttl) || !report.markDeleted()) {
+                return false;
+            }
+            deleteQuietly(report.getFile());
+            return true;
+        });
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // removed again at the next startup
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.task2.service;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.task2.model.QCourse;
+import com.task2.model.QInstructor;
+import com.task2.model.constant.SuggestionType;
+import com.task2.model.dto.Suggestion;
+import com.task2.model.event.CourseChangedEvent;
+import com.task2.model.event.InstructorChangedEvent;
+import com.task2.repository.InstructorRepository;
+import com.task2.util.PrefixIndex;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Serves typeahead suggestions for course codes, course names and instructor names from an in-memory
+ * {@link PrefixIndex}, without querying the database. The index is loaded when the application is ready and kept
+ * up to date from the change events of courses and instructors after they commit, re-reading only the changed rows
+ * unless a bulk load did not list them.
+ * All changes are applied on the single suggestion index thread in commit order, so the initial load never overwrites
+ * a later change with older data.
+ */
+@Service
+@RequiredArgsConstructor
+public class SuggestionService {
+
+    private static final String COURSE_KEY = "course:";
+    private static final String INSTRUCTOR_KEY = "instructor:";
+    private static final int REFRESH_BATCH_SIZE = 1000;
+
+    private final JPAQueryFactory queryFactory;
+    private final InstructorRepository instructorRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ThreadPoolTaskExecutor suggestionIndexExecutor;
+
+    private final PrefixIndex<Suggestion> index = new PrefixIndex<>();
+    private final AtomicBoolean courseReloadPending = new AtomicBoolean();
+
+    @Value("${app.suggest.max-results:20}")
+    private int maxResults;
+
+    @Value("${app.suggest.fetch-size:1000}")
+    private int fetchSize;
+
+    /**
+     * Finds the courses and instructors whose code or name, or a word of it, starts with the query.
+     *
+     * @param query Text typed so far; matched ignoring case.
+     * @param limit Maximum number of suggestions, capped at {@code app.suggest.max-results}.
+     * @return Suggestion list ordered by the matched text, empty for a blank query or while the index is loading.
+     */
+    public List<Suggestion> suggest(String query, int limit) {
+        return index.find(query, Math.min(limit, maxResults));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        courseReloadPending.set(true);
+        suggestionIndexExecutor.execute(() -> {
+            reloadInstructors();
+            reloadCourses();
+        });
+    }
+
+    /**
+     * Refreshes the changed courses, reading them in batches of IDs, so a bulk upload re-reads only the rows
+     * of each chunk it commits. A bulk load that does not list its courses reloads all of them; such reloads are
+     * coalesced while one is waiting.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (!event.isBulk()) {
+            suggestionIndexExecutor.execute(() -> refreshCourses(event.courseIds()));
+        } else if (courseReloadPending.compareAndSet(false, true)) {
+            suggestionIndexExecutor.execute(this::reloadCourses);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onInstructorChanged(InstructorChangedEvent event) {
+        suggestionIndexExecutor.execute(() -> refreshInstructor(event.instructorId()));
+    }
+
+    private void refreshCourses(List<Long> ids) {
+        QCourse course = QCourse.course;
+        for (int from = 0; from < ids.size(); from += REFRESH_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(ids.size(), from + REFRESH_BATCH_SIZE));
+            Set<String> loaded = new HashSet<>();
+            readOnly(() -> queryFactory.select(course.id, course.code, course.name)
+                    .from(course)
+                    .where(course.id.in(batch))
+                    .fetch()
+                    .forEach(row -> loaded.add(putCourse(row.get(course.id), row.get(course.code), row.get(course.name)))));
+            batch.stream()
+                    .map(id -> COURSE_KEY + id)
+                    .filter(key -> !loaded.contains(key))
+                    .forEach(index::remove);
+        }
+    }
+
+    private void refreshInstructor(Long id) {
+        instructorRepository.findById(id).ifPresentOrElse(
+                instructor -> putInstructor(instructor.getId(), instructor.getFirstName(), instructor.getLastName()),
+                () -> index.remove(INSTRUCTOR_KEY + id));
+    }
+
+    private void reloadCourses() {
+        courseReloadPending.set(false);
+        QCourse course = QCourse.course;
+        Set<String> loaded = new HashSet<>();
+        readOnly(() -> {
+            try (Stream<Tuple> rows = queryFactory.select(course.id, course.code, course.name)
+                    .from(course)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .stream()) {
+                rows.forEach(row -> loaded.add(putCourse(row.get(course.id), row.get(course.code), row.get(course.name))));
+            }
+        });
+        removeMissing(COURSE_KEY, loaded);
+    }
+
+    private void reloadInstructors() {
+        QInstructor instructor = QInstructor.instructor;
+        Set<String> loaded = new HashSet<>();
+        readOnly(() -> {
+            try (Stream<Tuple> rows = queryFactory.select(instructor.id, instructor.firstName, instructor.lastName)
+                    .from(instructor)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .stream()) {
+                rows.forEach(row -> loaded.add(putInstructor(row.get(instructor.id), row.get(instructor.firstName),
+                        row.get(instructor.lastName))));
+            }
+        });
+        removeMissing(INSTRUCTOR_KEY, loaded);
+    }
+
+    private String putCourse(Long id, String code, String name) {
+        String key = COURSE_KEY + id;
+        String text = name == null ? code : code + " - " + name;
+        index.put(key, new Suggestion(SuggestionType.COURSE, id, text), List.of(nullToEmpty(code), nullToEmpty(name)));
+        return key;
+    }
+
+    private String putInstructor(Long id, String firstName, String lastName) {
+        String key = INSTRUCTOR_KEY + id;
+        String name = (nullToEmpty(firstName) + " " + nullToEmpty(lastName)).strip();
+        index.put(key, new Suggestion(SuggestionType.INSTRUCTOR, id, name), List.of(name));
+        return key;
+    }
+
+    private void removeMissing(String keyPrefix, Set<String> loaded) {
+        index.keys().stream()
+                .filter(key -> key.startsWith(keyPrefix) && !loaded.contains(key))
+                .toList()
+                .forEach(index::remove);
+    }
+
+    private void readOnly(Runnable work) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(status -> work.run());
+    }
+
+    private static String nullToEmpty(String text) {
+        return text == null ? "" : text;
+    }
+}
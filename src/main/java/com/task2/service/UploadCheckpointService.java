@@ -0,0 +1,78 @@
+package com.task2.service;
+
+import com.task2.exception.InvalidUploadRequestException;
+import com.task2.model.UploadCheckpoint;
+import com.task2.repository.UploadCheckpointRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+public class UploadCheckpointService {
+
+    private static final int MAX_UPLOAD_ID_LENGTH = 64;
+
+    private final UploadCheckpointRepository uploadCheckpointRepository;
+
+    @Value("${app.upload.checkpoints.retention-hours:168}")
+    private long retentionHours;
+
+    /**
+     * Starts tracking an upload, or looks up how far a previous attempt of the same upload got.
+     * Expired checkpoints are removed on the way.
+     *
+     * @param uploadId ID chosen by the client or generated for the upload.
+     * @param fileName Original name of the uploaded file, kept for reference.
+     * @param fileSize Size of the uploaded file in bytes; a retry must send the same file.
+     * @param fingerprint Hash of the first block of the uploaded file; a retry must send the same file.
+     * @return The number of leading records that are already committed or rejected and can be skipped.
+     * Throws InvalidUploadRequestException if the ID is too long or was used for a file of another size or content.
+     */
+    @Transactional
+    public long open(String uploadId, String fileName, long fileSize, String fingerprint) {
+        if (uploadId.isBlank() || uploadId.length() > MAX_UPLOAD_ID_LENGTH) {
+            throw new InvalidUploadRequestException("Upload ID must be 1 to " + MAX_UPLOAD_ID_LENGTH + " characters long");
+        }
+        uploadCheckpointRepository.deleteExpired(Instant.now().minus(retentionHours, ChronoUnit.HOURS));
+
+        UploadCheckpoint checkpoint = uploadCheckpointRepository.findById(uploadId).orElse(null);
+        if (checkpoint == null) {
+            checkpoint = new UploadCheckpoint();
+            checkpoint.setUploadId(uploadId);
+            checkpoint.setFileName(fileName);
+            checkpoint.setFileSize(fileSize);
+            checkpoint.setFileFingerprint(fingerprint);
+            checkpoint.setCommittedRecords(0L);
+            checkpoint.setUpdatedAt(Instant.now());
+            uploadCheckpointRepository.save(checkpoint);
+            return 0;
+        }
+        if (!Objects.equals(checkpoint.getFileSize(), fileSize)) {
+            throw new InvalidUploadRequestException("Upload " + uploadId + " was started with a file of "
+                    + checkpoint.getFileSize() + " bytes, not " + fileSize);
+        }
+        if (checkpoint.getFileFingerprint() != null && !checkpoint.getFileFingerprint().equals(fingerprint)) {
+            throw new InvalidUploadRequestException("Upload " + uploadId + " was started with a different file");
+        }
+        return checkpoint.getCommittedRecords();
+    }
+
+    /**
+     * Moves the checkpoint of an upload forward. A checkpoint never moves back, so a late save
+     * from a slower attempt cannot undo the progress of a newer one.
+     *
+     * @param uploadId The ID passed to {@link #open(String, String, long, String)}.
+     * @param committedRecords Number of leading records that are committed or rejected.
+     * @param completed Whether the whole file has been processed.
+     */
+    @Transactional
+    public void save(String uploadId, long committedRecords, boolean completed) {
+        uploadCheckpointRepository.advance(uploadId, committedRecords, completed, Instant.now());
+    }
+}
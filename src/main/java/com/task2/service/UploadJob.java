@@ -0,0 +1,103 @@
+package com.task2.service;
+
+import com.task2.model.constant.IngestMode;
+import com.task2.model.constant.UploadJobState;
+import com.task2.model.dto.UploadFileResponse;
+import com.task2.model.dto.UploadJobStatus;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Future;
+
+/**
+ * State of one asynchronous upload. The state fields are written by the job thread and read by status requests.
+ */
+@Getter
+class UploadJob {
+
+    private final String id;
+    private final IngestMode mode;
+    private final Path file;
+    private final String fileName;
+    private final UploadProgress progress;
+    private final Instant submittedAt = Instant.now();
+    private volatile UploadJobState state = UploadJobState.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile Future<?> future;
+
+    UploadJob(String id, IngestMode mode, Path file, String fileName, UploadProgress progress) {
+        this.id = id;
+        this.mode = mode;
+        this.file = file;
+        this.fileName = fileName;
+        this.progress = progress;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    synchronized boolean start() {
+        if (state != UploadJobState.QUEUED) {
+            return false;
+        }
+        state = UploadJobState.RUNNING;
+        startedAt = Instant.now();
+        return true;
+    }
+
+    synchronized void finish(UploadJobState finalState, String error) {
+        this.state = progress.isCancelled() ? UploadJobState.CANCELLED : finalState;
+        this.error = error;
+        this.finishedAt = Instant.now();
+    }
+
+    /**
+     * Cancels a queued job right away; a running job stops after the record it is processing.
+     */
+    synchronized void cancel() {
+        progress.cancel();
+        if (state == UploadJobState.QUEUED) {
+            if (future != null) {
+                future.cancel(false);
+            }
+            state = UploadJobState.CANCELLED;
+            finishedAt = Instant.now();
+        }
+    }
+
+    boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    UploadJobStatus toStatus() {
+        UploadJobStatus status = new UploadJobStatus();
+        status.setJobId(id);
+        status.setState(state);
+        status.setMode(mode);
+        status.setSubmittedAt(submittedAt);
+        status.setStartedAt(startedAt);
+        status.setFinishedAt(finishedAt);
+        status.setError(error);
+
+        UploadFileResponse result = progress.toResponse();
+        status.setUploadId(result.getUploadId());
+        status.setProcessedRecords(progress.getProcessed());
+        status.setSkippedRecords(result.getSkippedRecords());
+        status.setSuccessfulRecords(result.getSuccessfulRecords());
+        status.setFailedRecords(result.getFailedRecords());
+        status.setUpdatedRecords(result.getUpdatedRecords());
+        status.setUnchangedRecords(result.getUnchangedRecords());
+        status.setRejectedRecords(result.getRejectedRecords());
+        status.setStages(result.getStages());
+        if (startedAt != null) {
+            long millis = Duration.between(startedAt, finishedAt != null ? finishedAt : Instant.now()).toMillis();
+            status.setRecordsPerSecond(millis > 0 ? progress.getProcessed() * 1000.0 / millis : 0.0);
+        }
+        return status;
+    }
+}
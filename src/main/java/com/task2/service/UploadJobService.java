@@ -0,0 +1,132 @@
+package com.task2.service;
+
+import com.task2.model.constant.IngestMode;
+import com.task2.model.constant.UploadJobState;
+import com.task2.model.dto.UploadJobStatus;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+public class UploadJobService {
+
+    private final FileParserService fileParserService;
+    private final ThreadPoolTaskExecutor uploadJobExecutor;
+    private final Map<String, UploadJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${app.upload.jobs.retention-minutes:60}")
+    private long retentionMinutes;
+
+    /**
+     * Stores the uploaded file and queues it for processing on the upload executor.
+     *
+     * @param file The course file to process.
+     * @param mode Ingestion mode used for the upload.
+     * @param uploadId ID of an earlier attempt to resume, or null to use the job ID as the upload ID.
+     * @return UploadJobStatus of the queued job, including the job ID to poll.
+     * @throws IOException If the file cannot be stored.
+     * Throws TaskRejectedException if the upload queue is full.
+     * Throws InvalidUploadRequestException if the upload ID was used for a different file.
+     */
+    public UploadJobStatus submit(MultipartFile file, IngestMode mode, String uploadId) throws IOException {
+        pruneFinishedJobs();
+        String jobId = UUID.randomUUID().toString();
+        UploadProgress progress = fileParserService.newProgress(uploadId != null ? uploadId : jobId, file, mode);
+        Path storedFile = Files.createTempFile("course-upload-", ".tmp");
+        try {
+            file.transferTo(storedFile);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(storedFile);
+            throw e;
+        }
+
+        UploadJob job = new UploadJob(jobId, mode, storedFile, file.getOriginalFilename(), progress);
+        jobs.put(job.getId(), job);
+        try {
+            job.setFuture(uploadJobExecutor.submit(() -> run(job)));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            Files.deleteIfExists(storedFile);
+            throw e;
+        }
+        return job.toStatus();
+    }
+
+    /**
+     * Retrieves the progress of an upload job.
+     *
+     * @param jobId The ID returned when the upload was submitted.
+     * @return UploadJobStatus with the processed, successful and failed record counts and the throughput.
+     * Throws EntityNotFoundException if the job does not exist or has expired.
+     */
+    public UploadJobStatus getStatus(String jobId) {
+        return getJob(jobId).toStatus();
+    }
+
+    /**
+     * Cancels an upload job. A queued job never starts, a running job stops after its current record.
+     * Courses committed before the cancellation are kept.
+     *
+     * @param jobId The ID returned when the upload was submitted.
+     * @return UploadJobStatus of the job after the cancellation request.
+     * Throws EntityNotFoundException if the job does not exist or has expired.
+     */
+    public UploadJobStatus cancel(String jobId) {
+        UploadJob job = getJob(jobId);
+        job.cancel();
+        if (job.getStartedAt() == null && job.isFinished()) {
+            deleteQuietly(job.getFile());
+        }
+        return job.toStatus();
+    }
+
+    private UploadJob getJob(String jobId) {
+        UploadJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new EntityNotFoundException("Upload job not found with ID: " + jobId);
+        }
+        return job;
+    }
+
+    private void run(UploadJob job) {
+        if (!job.start()) {
+            return;
+        }
+        try (InputStream inputStream = Files.newInputStream(job.getFile())) {
+            fileParserService.process(inputStream, job.getFileName(), job.getMode(), job.getProgress());
+            job.finish(UploadJobState.COMPLETED, null);
+        } catch (Exception e) {
+            job.finish(UploadJobState.FAILED, e.getMessage());
+        } finally {
+            deleteQuietly(job.getFile());
+        }
+    }
+
+    private void pruneFinishedJobs() {
+        Instant expiry = Instant.now().minus(retentionMinutes, ChronoUnit.MINUTES);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(expiry));
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // the temp directory is cleaned up by the OS eventually
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.task2.service;
+
+import com.task2.model.dto.RejectedRecord;
+import com.task2.model.dto.UploadFileResponse;
+import com.task2.model.dto.UploadStageStats;
+import com.task2.util.ContiguousWatermark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the outcome of the records of one upload. Only the first rejections are kept with their reason,
+ * so memory use stays bounded however many records fail. Counters may be read from other threads
+ * while the upload is running, and the upload stops reading once it is cancelled.
+ * A resumable upload also tracks the prefix of records that are committed or rejected and saves it
+ * as the upload's checkpoint.
+ */
+public class UploadProgress {
+
+    private final int maxReportedRejections;
+    private final String uploadId;
+    private final long resumedFrom;
+    private final UploadCheckpointService checkpoints;
+    private final long checkpointIntervalMillis;
+    private final ContiguousWatermark committed;
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong updated = new AtomicLong();
+    private final AtomicLong unchanged = new AtomicLong();
+    private volatile long lastCheckpointMillis;
+    private volatile long lastCheckpoint;
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicInteger successful = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final List<RejectedRecord> rejectedRecords = new ArrayList<>();
+    private volatile boolean cancelled;
+    private volatile IngestPipeline pipeline;
+
+    public UploadProgress(int maxReportedRejections) {
+        this(maxReportedRejections, null, 0, null, 0);
+    }
+
+    /**
+     * @param uploadId ID of the checkpoint to save, or null if the upload cannot be resumed.
+     * @param resumedFrom Number of leading records committed by earlier attempts, to be skipped.
+     * @param checkpoints Saves the checkpoint, null if the upload cannot be resumed.
+     * @param checkpointIntervalMillis Minimum time between two checkpoint saves while the upload is running.
+     */
+    UploadProgress(int maxReportedRejections, String uploadId, long resumedFrom,
+                   UploadCheckpointService checkpoints, long checkpointIntervalMillis) {
+        this.maxReportedRejections = maxReportedRejections;
+        this.uploadId = uploadId;
+        this.resumedFrom = resumedFrom;
+        this.checkpoints = checkpoints;
+        this.checkpointIntervalMillis = checkpointIntervalMillis;
+        this.committed = new ContiguousWatermark(resumedFrom);
+        this.lastCheckpoint = resumedFrom;
+    }
+
+    public void recordProcessed() {
+        processed.incrementAndGet();
+    }
+
+    public void recordSuccess(long index) {
+        successful.incrementAndGet();
+        committed.resolve(index);
+    }
+
+    /**
+     * Records created courses without their index, for loads that commit everything at once.
+     */
+    public void recordSuccesses(long count) {
+        successful.addAndGet((int) count);
+    }
+
+    /**
+     * Records how many of the upserted courses updated an existing course or left it as it was,
+     * on top of the successes recorded for them.
+     */
+    public void recordUpserts(long updatedCount, long unchangedCount) {
+        updated.addAndGet(updatedCount);
+        unchanged.addAndGet(unchangedCount);
+    }
+
+    public void recordSkipped(long count) {
+        skipped.addAndGet(count);
+    }
+
+    public void recordRejection(long index, String reason) {
+        failed.incrementAndGet();
+        committed.resolve(index);
+        synchronized (rejectedRecords) {
+            if (rejectedRecords.size() < maxReportedRejections) {
+                rejectedRecords.add(new RejectedRecord(index, reason));
+            }
+        }
+    }
+
+    /**
+     * Records rejections of which only a sample carries details.
+     *
+     * @param count Total number of rejected records.
+     * @param sample Rejected records with their reason, at most {@code count} of them.
+     */
+    public void recordRejections(long count, List<RejectedRecord> sample) {
+        failed.addAndGet((int) count);
+        synchronized (rejectedRecords) {
+            for (RejectedRecord rejectedRecord : sample) {
+                if (rejectedRecords.size() >= maxReportedRejections) {
+                    break;
+                }
+                rejectedRecords.add(rejectedRecord);
+            }
+        }
+    }
+
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    public int getSuccessful() {
+        return successful.get();
+    }
+
+    public int getFailed() {
+        return failed.get();
+    }
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public long getResumedFrom() {
+        return resumedFrom;
+    }
+
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    /**
+     * Saves the checkpoint if it moved and the last save is at least the checkpoint interval ago.
+     */
+    void checkpoint() {
+        if (System.currentTimeMillis() - lastCheckpointMillis >= checkpointIntervalMillis) {
+            saveCheckpoint(false);
+        }
+    }
+
+    /**
+     * Saves the checkpoint right away. A failed save is ignored: the checkpoint only saves rework, and
+     * records committed after the last saved checkpoint are rejected as duplicates when they are sent again.
+     *
+     * @param completed Whether the whole file has been processed.
+     */
+    void saveCheckpoint(boolean completed) {
+        if (checkpoints == null) {
+            return;
+        }
+        long current = committed.get();
+        if (!completed && current == lastCheckpoint) {
+            return;
+        }
+        try {
+            checkpoints.save(uploadId, current, completed);
+            lastCheckpoint = current;
+            lastCheckpointMillis = System.currentTimeMillis();
+        } catch (RuntimeException e) {
+            // keep going, the next save catches up
+        }
+    }
+
+    public int getMaxReportedRejections() {
+        return maxReportedRejections;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    void attach(IngestPipeline pipeline) {
+        this.pipeline = pipeline;
+    }
+
+    /**
+     * Returns the throughput and queue depth of each pipeline stage, empty until the upload has started.
+     */
+    public List<UploadStageStats> getStages() {
+        IngestPipeline current = pipeline;
+        return current == null ? new ArrayList<>() : current.getStats();
+    }
+
+    public UploadFileResponse toResponse() {
+        List<RejectedRecord> rejected;
+        synchronized (rejectedRecords) {
+            rejected = new ArrayList<>(rejectedRecords);
+        }
+        UploadFileResponse response = new UploadFileResponse(successful.get(), failed.get(), rejected);
+        response.setUploadId(uploadId);
+        response.setSkippedRecords(skipped.get());
+        response.setUpdatedRecords(updated.get());
+        response.setUnchangedRecords(unchanged.get());
+        response.setStages(getStages());
+        return response;
+    }
+}
@@ -0,0 +1,41 @@
+package com.task2.util;
+
+/**
+ * Tracks the chunk size used for bulk ingestion and adapts it to the measured commit latency.
+ * The size doubles while commits stay well under the target and halves as soon as one exceeds it.
+ */
+public class AdaptiveBatchSizer {
+
+    private final int minSize;
+    private final int maxSize;
+    private final long targetCommitMillis;
+    private int batchSize;
+
+    public AdaptiveBatchSizer(int initialSize, int minSize, int maxSize, long targetCommitMillis) {
+        if (minSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException("Invalid batch size bounds: " + minSize + ".." + maxSize);
+        }
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.targetCommitMillis = targetCommitMillis;
+        this.batchSize = Math.max(minSize, Math.min(maxSize, initialSize));
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Records how long a chunk took to commit and adjusts the size of the next chunk.
+     *
+     * @param committedRecords Number of records in the committed chunk.
+     * @param elapsedMillis Time spent writing and committing the chunk.
+     */
+    public void recordCommit(int committedRecords, long elapsedMillis) {
+        if (elapsedMillis > targetCommitMillis) {
+            batchSize = Math.max(minSize, batchSize / 2);
+        } else if (elapsedMillis < targetCommitMillis / 2 && committedRecords >= batchSize) {
+            batchSize = (int) Math.min(maxSize, batchSize * 2L);
+        }
+    }
+}
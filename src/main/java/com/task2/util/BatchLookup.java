@@ -0,0 +1,57 @@
+package com.task2.util;
+
+import com.task2.exception.InvalidBatchRequestException;
+import com.task2.model.dto.BatchResponse;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Helpers for endpoints that look up many entities by ID with one {@code IN} query and answer in request order.
+ */
+public final class BatchLookup {
+
+    private BatchLookup() {
+    }
+
+    /**
+     * @param ids Requested IDs, possibly repeated.
+     * @param maxIds Largest number of IDs a request may carry.
+     * @return The distinct IDs in request order, to query with.
+     * Throws InvalidBatchRequestException if the list is missing, too long or contains null.
+     */
+    public static Set<Long> distinctIds(List<Long> ids, int maxIds) {
+        if (ids == null || ids.size() > maxIds) {
+            throw new InvalidBatchRequestException("A batch must hold at most " + maxIds + " IDs");
+        }
+        Set<Long> distinct = new LinkedHashSet<>(ids.size() * 2);
+        for (Long id : ids) {
+            if (id == null) {
+                throw new InvalidBatchRequestException("A batch must not contain null IDs");
+            }
+            distinct.add(id);
+        }
+        return distinct;
+    }
+
+    /**
+     * @param ids Requested IDs, possibly repeated.
+     * @param found Entities found by ID.
+     * @return BatchResponse with an item for every requested ID and the IDs that were not found.
+     */
+    public static <T> BatchResponse<T> inRequestOrder(List<Long> ids, Map<Long, T> found) {
+        BatchResponse<T> response = new BatchResponse<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : ids) {
+            T item = found.get(id);
+            response.getItems().add(item);
+            if (item == null) {
+                missing.add(id);
+            }
+        }
+        response.getMissingIds().addAll(missing);
+        return response;
+    }
+}
@@ -0,0 +1,51 @@
+package com.task2.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes through to the wrapped stream and keeps a copy of the bytes until they exceed a limit,
+ * after which the copy is dropped and only the pass-through continues.
+ */
+public class CapturingOutputStream extends FilterOutputStream {
+
+    private final int limit;
+    private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+    public CapturingOutputStream(OutputStream out, int limit) {
+        super(out);
+        this.limit = limit;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        capture(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        capture(b, off, len);
+    }
+
+    /**
+     * @return The bytes written so far, or null if they exceeded the limit.
+     */
+    public byte[] getCapture() {
+        return copy == null ? null : copy.toByteArray();
+    }
+
+    private void capture(byte[] b, int off, int len) {
+        if (copy == null) {
+            return;
+        }
+        if (copy.size() + len > limit) {
+            copy = null;
+        } else {
+            copy.write(b, off, len);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.task2.util;
+
+import java.util.BitSet;
+
+/**
+ * Tracks record indexes that are resolved in any order and reports the length of the resolved prefix,
+ * i.e. the first index that is still open. Only indexes past the prefix are remembered, so memory is
+ * bounded by how far out of order records are resolved.
+ */
+public class ContiguousWatermark {
+
+    private long watermark;
+    private BitSet ahead = new BitSet();
+
+    /**
+     * @param start Index of the first open record; everything before it counts as resolved.
+     */
+    public ContiguousWatermark(long start) {
+        this.watermark = start;
+    }
+
+    public synchronized void resolve(long index) {
+        if (index < watermark) {
+            return;
+        }
+        ahead.set(Math.toIntExact(index - watermark));
+        int advance = ahead.nextClearBit(0);
+        if (advance > 0) {
+            ahead = ahead.get(advance, Math.max(advance, ahead.length()));
+            watermark += advance;
+        }
+    }
+
+    public synchronized long get() {
+        return watermark;
+    }
+}
@@ -0,0 +1,42 @@
+package com.task2.util;
+
+import com.task2.exception.InvalidContinuationTokenException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of a keyset page: the sort key and ID of the last course of the previous page.
+ * Clients get it as an opaque URL-safe string and send it back unchanged to fetch the next page.
+ *
+ * @param sort Name of the sort order the key belongs to.
+ * @param key Sort key of the last course, or null when sorting by ID only.
+ * @param id ID of the last course, which breaks ties between equal sort keys.
+ */
+public record ContinuationToken(String sort, String key, long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String value = sort + SEPARATOR + id + (key == null ? "" : SEPARATOR + key);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token A token returned by {@link #encode()}.
+     * @return The decoded position.
+     * Throws InvalidContinuationTokenException if the token was not produced by {@link #encode()}.
+     */
+    public static ContinuationToken decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = value.split("\\|", 3);
+            if (parts.length < 2) {
+                throw new InvalidContinuationTokenException("Invalid continuation token");
+            }
+            return new ContinuationToken(parts[0], parts.length == 3 ? parts[2] : null, Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidContinuationTokenException("Invalid continuation token");
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.task2.util;
+
+import com.task2.model.constant.Department;
+import com.task2.model.dto.CourseDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory read model of the courses for filtered listings. Every course occupies a slot holding its columns in
+ * parallel arrays, and each department, instructor and credits value has a posting: the sorted array of the slots
+ * that have it, ordered by course ID. A filter walks the smallest posting of its criteria in ID order and checks
+ * the other criteria against the columns of each slot, so a lookup allocates nothing in proportion to the table and
+ * a posting takes four bytes per course it holds.
+ * <p>
+ * Postings are kept in ID order whatever the order courses are inserted in: a new slot is inserted at its ID
+ * position, which for the usual new, highest IDs is an append. Slots of deleted courses are reused.
+ * Lookups run concurrently; changes take an exclusive lock.
+ */
+public class CourseBitmapIndex {
+
+    private static final int NO_CREDITS = Integer.MIN_VALUE;
+    private static final long NO_INSTRUCTOR = Long.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int DEPARTMENTS = Department.values().length;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final Posting[] byDepartment = new Posting[DEPARTMENTS];
+    private final Map<Long, Posting> byInstructor = new HashMap<>();
+    private final Map<Integer, Posting> byCredits = new HashMap<>();
+    private final Posting live = new Posting();
+    private final Posting none = new Posting();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private String[] codes = new String[INITIAL_CAPACITY];
+    private String[] descriptions = new String[INITIAL_CAPACITY];
+    private int[] credits = new int[INITIAL_CAPACITY];
+    private int[] departmentMasks = new int[INITIAL_CAPACITY];
+    private long[] instructorIds = new long[INITIAL_CAPACITY];
+    private int slots;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+
+    public CourseBitmapIndex() {
+        Arrays.setAll(byDepartment, i -> new Posting());
+    }
+
+    /**
+     * Adds a course or replaces the columns of the course with the same ID in place.
+     */
+    public void put(long id, String name, String code, String description, Integer courseCredits, int departmentsMask,
+                    Long instructorId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.get(id);
+            if (slot == null) {
+                slot = freeCount > 0 ? freeSlots[--freeCount] : slots++;
+                ensureCapacity(slots);
+                ids[slot] = id;
+                slotById.put(id, slot);
+            } else {
+                unpost(slot);
+            }
+            names[slot] = name;
+            codes[slot] = code;
+            descriptions[slot] = description;
+            credits[slot] = courseCredits == null ? NO_CREDITS : courseCredits;
+            departmentMasks[slot] = departmentsMask;
+            instructorIds[slot] = instructorId == null ? NO_INSTRUCTOR : instructorId;
+            post(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.remove(id);
+            if (slot != null) {
+                unpost(slot);
+                names[slot] = null;
+                codes[slot] = null;
+                descriptions[slot] = null;
+                if (freeCount == freeSlots.length) {
+                    freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+                }
+                freeSlots[freeCount++] = slot;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the courses matching the filter. Null criteria are ignored.
+     *
+     * @param departmentsMask Bitmask of the departments every course must have, 0 for any.
+     */
+    public long count(Long instructorId, Integer courseCredits, int departmentsMask) {
+        lock.readLock().lock();
+        try {
+            List<Posting> postings = postings(instructorId, courseCredits, departmentsMask);
+            Posting driver = smallest(postings);
+            if (postings.size() <= 1) {
+                return driver.size;
+            }
+            long count = 0;
+            for (int position = 0; position < driver.size; position++) {
+                if (matches(driver.entries[position], instructorId, courseCredits, departmentsMask)) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds a page of the courses matching the filter in ID order. With one criterion an offset is a jump in its
+     * posting; with several, skipping an offset walks the smallest posting, so it costs time proportional to the offset
+     * but no database work.
+     *
+     * @param departmentsMask Bitmask of the departments every course must have, 0 for any.
+     * @param afterId Only courses after this ID in the given direction, or null to start at the first one.
+     * @param ascending Direction of the ID order.
+     * @param offset Number of matching courses to skip.
+     * @param limit Maximum number of courses to return.
+     * @return Entry list with the ID and columns of each course.
+     */
+    public List<Entry> find(Long instructorId, Integer courseCredits, int departmentsMask, Long afterId, boolean ascending,
+                            long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Posting> postings = postings(instructorId, courseCredits, departmentsMask);
+            Posting driver = smallest(postings);
+            boolean exact = postings.size() <= 1;
+            int step = ascending ? 1 : -1;
+            long position;
+            if (ascending) {
+                position = afterId == null ? 0 : driver.positionAbove(afterId);
+            } else {
+                position = (afterId == null ? driver.size : driver.positionAbove(afterId - 1)) - 1;
+            }
+            long skip = offset;
+            if (exact) {
+                position += step * offset;
+                skip = 0;
+            }
+            List<Entry> entries = new ArrayList<>(Math.min(limit, INITIAL_CAPACITY));
+            while (position >= 0 && position < driver.size && entries.size() < limit) {
+                int slot = driver.entries[(int) position];
+                if (exact || matches(slot, instructorId, courseCredits, departmentsMask)) {
+                    if (skip > 0) {
+                        skip--;
+                    } else {
+                        entries.add(toEntry(slot));
+                    }
+                }
+                position += step;
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Collects the postings of the given criteria; without criteria the result is empty and every course matches.
+     */
+    private List<Posting> postings(Long instructorId, Integer courseCredits, int departmentsMask) {
+        List<Posting> postings = new ArrayList<>(DEPARTMENTS + 2);
+        if (instructorId != null) {
+            postings.add(byInstructor.getOrDefault(instructorId, none));
+        }
+        if (courseCredits != null) {
+            postings.add(byCredits.getOrDefault(courseCredits, none));
+        }
+        for (int department = 0; department < DEPARTMENTS; department++) {
+            if ((departmentsMask & (1 << department)) != 0) {
+                postings.add(byDepartment[department]);
+            }
+        }
+        return postings;
+    }
+
+    private Posting smallest(List<Posting> postings) {
+        Posting smallest = live;
+        for (Posting posting : postings) {
+            if (smallest == live || posting.size < smallest.size) {
+                smallest = posting;
+            }
+        }
+        return smallest;
+    }
+
+    private boolean matches(int slot, Long instructorId, Integer courseCredits, int departmentsMask) {
+        return (instructorId == null || instructorIds[slot] == instructorId)
+                && (courseCredits == null || credits[slot] == courseCredits)
+                && (departmentMasks[slot] & departmentsMask) == departmentsMask;
+    }
+
+    private Entry toEntry(int slot) {
+        CourseDto courseDto = new CourseDto();
+        courseDto.setName(names[slot]);
+        courseDto.setCode(codes[slot]);
+        courseDto.setDescription(descriptions[slot]);
+        courseDto.setCredits(credits[slot] == NO_CREDITS ? null : credits[slot]);
+        courseDto.setDepartments(DepartmentConverter.fromMask(departmentMasks[slot]));
+        courseDto.setInstructorId(instructorIds[slot] == NO_INSTRUCTOR ? null : instructorIds[slot]);
+        return new Entry(ids[slot], courseDto);
+    }
+
+    private void post(int slot) {
+        live.add(slot);
+        for (int department = 0; department < DEPARTMENTS; department++) {
+            if ((departmentMasks[slot] & (1 << department)) != 0) {
+                byDepartment[department].add(slot);
+            }
+        }
+        if (instructorIds[slot] != NO_INSTRUCTOR) {
+            byInstructor.computeIfAbsent(instructorIds[slot], key -> new Posting()).add(slot);
+        }
+        if (credits[slot] != NO_CREDITS) {
+            byCredits.computeIfAbsent(credits[slot], key -> new Posting()).add(slot);
+        }
+    }
+
+    private void unpost(int slot) {
+        live.remove(slot);
+        for (int department = 0; department < DEPARTMENTS; department++) {
+            if ((departmentMasks[slot] & (1 << department)) != 0) {
+                byDepartment[department].remove(slot);
+            }
+        }
+        unpost(byInstructor, instructorIds[slot], slot);
+        unpost(byCredits, credits[slot], slot);
+    }
+
+    private static <K> void unpost(Map<K, Posting> postings, K key, int slot) {
+        Posting posting = postings.get(key);
+        if (posting != null) {
+            posting.remove(slot);
+            if (posting.size == 0) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, ids.length * 2);
+        ids = Arrays.copyOf(ids, newCapacity);
+        names = Arrays.copyOf(names, newCapacity);
+        codes = Arrays.copyOf(codes, newCapacity);
+        descriptions = Arrays.copyOf(descriptions, newCapacity);
+        credits = Arrays.copyOf(credits, newCapacity);
+        departmentMasks = Arrays.copyOf(departmentMasks, newCapacity);
+        instructorIds = Arrays.copyOf(instructorIds, newCapacity);
+    }
+
+    /**
+     * Slots ordered by the ID of their course. A slot must be removed before the ID stored for it changes.
+     */
+    private final class Posting {
+
+        private int[] entries = new int[4];
+        private int size;
+
+        void add(int slot) {
+            int position = positionAbove(ids[slot]);
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            System.arraycopy(entries, position, entries, position + 1, size - position);
+            entries[position] = slot;
+            size++;
+        }
+
+        void remove(int slot) {
+            int position = positionAbove(ids[slot]) - 1;
+            if (position >= 0 && entries[position] == slot) {
+                System.arraycopy(entries, position + 1, entries, position, size - position - 1);
+                size--;
+            }
+        }
+
+        /**
+         * @return The first position whose ID is above the given one.
+         */
+        int positionAbove(long id) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (ids[entries[middle]] > id) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * A course found by {@link #find}, with its ID for keyset tokens.
+     */
+    public record Entry(long id, CourseDto course) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.task2.util;
+
+import com.task2.model.dto.CourseDto;
+
+/**
+ * One element read from an upload: either a bound course or the reason it could not be bound.
+ *
+ * @param index Zero-based position of the element in the uploaded file.
+ * @param course The bound course, or null if binding failed.
+ * @param error Why the element could not be bound, or null if it was bound.
+ */
+public record CourseRecord(long index, CourseDto course, String error) {
+
+    public static CourseRecord of(long index, CourseDto course) {
+        return new CourseRecord(index, course, null);
+    }
+
+    public static CourseRecord rejected(long index, String error) {
+        return new CourseRecord(index, null, error);
+    }
+
+    public boolean isRejected() {
+        return course == null;
+    }
+}
@@ -0,0 +1,39 @@
+package com.task2.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Streams the course records of an upload one at a time, so memory use does not depend on the file size.
+ */
+public interface CourseRecordReader extends Closeable {
+
+    /**
+     * Reads the next record. Elements that cannot be bound are returned as rejected records
+     * and reading continues with the element after them.
+     *
+     * @return The next record, or null once the input is exhausted.
+     * @throws IOException If the input is malformed beyond the current element or cannot be read.
+     */
+    CourseRecord next() throws IOException;
+
+    /**
+     * @return Index the next record will get, which is also the number of records read so far.
+     */
+    long getNextIndex();
+
+    /**
+     * Skips records without binding them, to resume an upload where an earlier attempt stopped.
+     *
+     * @param count Number of records to skip.
+     * @return Number of records actually skipped, less than {@code count} if the input ends first.
+     * @throws IOException If the input cannot be read.
+     */
+    default long skip(long count) throws IOException {
+        long skipped = 0;
+        while (skipped < count && next() != null) {
+            skipped++;
+        }
+        return skipped;
+    }
+}
@@ -0,0 +1,129 @@
+package com.task2.util;
+
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.task2.model.dto.CourseDto;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads courses from CSV with a header row. Columns are matched by name ignoring case, spaces and
+ * underscores, so both {@code instructorId} and the {@code Instructor id} column of the course report
+ * are accepted; unknown columns are ignored. Departments are a comma separated list in one cell.
+ * Every row is bound with the same {@link ObjectReader} as JSON input, so type errors are reported
+ * the same way. The reader must be created for {@link CourseDto}.
+ */
+public class CsvCourseReader implements CourseRecordReader {
+
+    private static final CSVFormat FORMAT = CSVFormat.DEFAULT
+            .withFirstRecordAsHeader()
+            .withIgnoreSurroundingSpaces()
+            .withIgnoreEmptyLines();
+
+    private static final Map<String, String> COLUMNS = Map.of(
+            "name", "name",
+            "code", "code",
+            "coursecode", "code",
+            "description", "description",
+            "credits", "credits",
+            "departments", "departments",
+            "department", "departments",
+            "instructorid", "instructorId");
+
+    private final CSVParser parser;
+    private final Iterator<CSVRecord> records;
+    private final ObjectReader courseReader;
+    private final Map<String, String> fields = new HashMap<>();
+    private long nextIndex;
+
+    public CsvCourseReader(Reader reader, ObjectReader courseReader) throws IOException {
+        this.parser = new CSVParser(reader, FORMAT);
+        this.records = parser.iterator();
+        this.courseReader = courseReader;
+        for (String header : parser.getHeaderNames()) {
+            String field = COLUMNS.get(header.replaceAll("[\\s_]", "").toLowerCase(Locale.ROOT));
+            if (field != null) {
+                fields.put(header, field);
+            }
+        }
+        if (!fields.containsValue("code")) {
+            parser.close();
+            throw new MalformedUploadException("CSV header has no course code column: " + parser.getHeaderNames(), null);
+        }
+    }
+
+    @Override
+    public CourseRecord next() throws IOException {
+        CSVRecord record = nextRecord();
+        if (record == null) {
+            return null;
+        }
+        long index = nextIndex++;
+        try {
+            return CourseRecord.of(index, courseReader.readValue(toNode(record)));
+        } catch (DatabindException e) {
+            return CourseRecord.rejected(index, JsonArrayCourseReader.describe(e));
+        }
+    }
+
+    @Override
+    public long skip(long count) throws IOException {
+        long skipped = 0;
+        while (skipped < count && nextRecord() != null) {
+            nextIndex++;
+            skipped++;
+        }
+        return skipped;
+    }
+
+    @Override
+    public long getNextIndex() {
+        return nextIndex;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    private CSVRecord nextRecord() throws MalformedUploadException {
+        try {
+            return records.hasNext() ? records.next() : null;
+        } catch (UncheckedIOException | IllegalStateException e) {
+            throw new MalformedUploadException("Malformed CSV: " + e.getMessage(), e);
+        }
+    }
+
+    private ObjectNode toNode(CSVRecord record) {
+        ObjectNode node = JsonNodeFactory.instance.objectNode();
+        fields.forEach((header, field) -> {
+            String value = record.isSet(header) ? record.get(header) : "";
+            if (value.isEmpty()) {
+                return;
+            }
+            if (field.equals("departments")) {
+                ArrayNode departments = node.putArray(field);
+                for (String department : value.split(",")) {
+                    if (!department.isBlank()) {
+                        departments.add(department.trim());
+                    }
+                }
+            } else {
+                node.put(field, value);
+            }
+        });
+        return node;
+    }
+}
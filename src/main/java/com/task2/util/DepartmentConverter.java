@@ -1,31 +1,77 @@
 package com.task2.util;
 
 import com.task2.model.constant.Department;
-import io.micrometer.common.util.StringUtils;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.StringJoiner;
 
+/**
+ * Stores departments as a bitmask with bit {@code ordinal()} set for each department, so new departments
+ * must be added at the end of {@link Department}.
+ */
 @Converter
 @Component
-public class DepartmentConverter implements AttributeConverter<Set<Department>, String> {
+public class DepartmentConverter implements AttributeConverter<Set<Department>, Integer> {
+
+    private static final Department[] DEPARTMENTS = Department.values();
 
     @Override
-    public String convertToDatabaseColumn(Set<Department> attribute) {
-        return attribute.stream()
-                .map(Enum::name)
-                .collect(Collectors.joining(","));
+    public Integer convertToDatabaseColumn(Set<Department> attribute) {
+        return toMask(attribute);
     }
 
     @Override
-    public Set<Department> convertToEntityAttribute(String dbData) {
-        return Arrays.stream(dbData.split(","))
-                .filter(StringUtils::isNotEmpty)
-                .map(Department::valueOf)
-                .collect(Collectors.toSet());
+    public Set<Department> convertToEntityAttribute(Integer dbData) {
+        return fromMask(dbData == null ? 0 : dbData);
+    }
+
+    /**
+     * @param departments Departments to encode, may be null.
+     * @return Bitmask of the departments, 0 if there are none.
+     */
+    public static int toMask(Set<Department> departments) {
+        int mask = 0;
+        if (departments != null) {
+            for (Department department : departments) {
+                mask |= 1 << department.ordinal();
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Decodes a bitmask by walking its set bits, without going through names or intermediate collections.
+     *
+     * @param mask Bitmask written by {@link #toMask(Set)}; unknown bits are ignored.
+     * @return Mutable set of the departments in the mask.
+     */
+    public static EnumSet<Department> fromMask(int mask) {
+        EnumSet<Department> departments = EnumSet.noneOf(Department.class);
+        for (int bits = mask; bits != 0; bits &= bits - 1) {
+            int ordinal = Integer.numberOfTrailingZeros(bits);
+            if (ordinal < DEPARTMENTS.length) {
+                departments.add(DEPARTMENTS[ordinal]);
+            }
+        }
+        return departments;
+    }
+
+    /**
+     * @param mask Bitmask written by {@link #toMask(Set)}.
+     * @return Names of the departments in declaration order, separated by commas.
+     */
+    public static String toNames(int mask) {
+        StringJoiner names = new StringJoiner(",");
+        for (int bits = mask; bits != 0; bits &= bits - 1) {
+            int ordinal = Integer.numberOfTrailingZeros(bits);
+            if (ordinal < DEPARTMENTS.length) {
+                names.add(DEPARTMENTS[ordinal].name());
+            }
+        }
+        return names.toString();
     }
-}
\ No newline at end of file
+}
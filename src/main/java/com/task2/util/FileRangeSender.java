@@ -0,0 +1,99 @@
+package com.task2.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Sends a file as a download with support for a single byte range, so interrupted downloads can resume.
+ * The file is written with {@link FileChannel#transferTo} before {@link #send} returns, so the caller may delete it
+ * afterwards. The container's sendfile is not used: it sends the file only after the handler has returned, when
+ * the caller no longer holds it.
+ */
+public final class FileRangeSender {
+
+    private FileRangeSender() {
+    }
+
+    /**
+     * Writes the file, or the range of it requested by the Range header, to the response. A Range with several
+     * ranges, an unparsable one, or one whose If-Range does not match the ETag of the file gets the whole file;
+     * a range starting past the end of the file gets 416.
+     *
+     * @param file The file to send; it must not change or be deleted until this method returns.
+     * @param fileName Name offered to the client for saving the file.
+     * @param request The download request.
+     * @param response The response, which must not be committed yet.
+     * @throws IOException If the file cannot be read or the client disconnects.
+     */
+    public static void send(Path file, String fileName, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        long length = Files.size(file);
+        String etag = "\"" + Long.toString(Files.getLastModifiedTime(file).toMillis(), 36) + "-" + Long.toString(length, 36) + "\"";
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString());
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+
+        long start = 0;
+        long end = length - 1;
+        HttpRange range = requestedRange(request, etag);
+        if (range != null) {
+            start = range.getRangeStart(length);
+            end = Math.min(range.getRangeEnd(length), length - 1);
+            if (start >= length || start > end) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if (HttpMethod.HEAD.matches(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (count > 0) {
+                long sent = channel.transferTo(position, count, target);
+                if (sent <= 0) {
+                    throw new IOException("File ended before the requested range was sent");
+                }
+                position += sent;
+                count -= sent;
+            }
+        }
+        response.flushBuffer();
+    }
+
+    private static HttpRange requestedRange(HttpServletRequest request, String etag) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader == null || (ifRange != null && !ifRange.equals(etag))) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.task2.util;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.task2.model.dto.CourseDto;
+
+import java.io.IOException;
+import java.util.stream.Collectors;
+
+/**
+ * Reads a JSON array of courses, binding every element straight to {@link CourseDto} with a shared
+ * {@link ObjectReader} instead of building an intermediate tree. The reader must be created for {@link CourseDto}.
+ */
+public class JsonArrayCourseReader implements CourseRecordReader {
+
+    private final JsonParser parser;
+    private final ObjectReader courseReader;
+    private JsonStreamContext arrayContext;
+    private long nextIndex;
+    private boolean finished;
+
+    public JsonArrayCourseReader(JsonParser parser, ObjectReader courseReader) {
+        this.parser = parser;
+        this.courseReader = courseReader;
+    }
+
+    @Override
+    public CourseRecord next() throws IOException {
+        JsonToken token = nextElement();
+        if (token == null) {
+            return null;
+        }
+        long index = nextIndex++;
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return CourseRecord.rejected(index, "Expected a JSON object but found " + token);
+        }
+        try {
+            return CourseRecord.of(index, courseReader.readValue(parser));
+        } catch (DatabindException e) {
+            skipRestOfElement();
+            return CourseRecord.rejected(index, describe(e));
+        }
+    }
+
+    @Override
+    public long skip(long count) throws IOException {
+        long skipped = 0;
+        while (skipped < count && nextElement() != null) {
+            parser.skipChildren();
+            nextIndex++;
+            skipped++;
+        }
+        return skipped;
+    }
+
+    @Override
+    public long getNextIndex() {
+        return nextIndex;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+
+    /**
+     * Moves the parser to the first token of the next array element.
+     *
+     * @return The token, or null once the array or the input ends.
+     */
+    private JsonToken nextElement() throws IOException {
+        if (finished) {
+            return null;
+        }
+        if (arrayContext == null) {
+            JsonToken first = parser.nextToken();
+            if (first == null) {
+                finished = true;
+                return null;
+            }
+            if (first != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Expected a JSON array of courses");
+            }
+            arrayContext = parser.getParsingContext();
+        }
+
+        JsonToken token = parser.nextToken();
+        if (token == null || token == JsonToken.END_ARRAY) {
+            finished = true;
+            return null;
+        }
+        return token;
+    }
+
+    /**
+     * Moves the parser past the element that failed to bind, back to the level of the enclosing array.
+     */
+    private void skipRestOfElement() throws IOException {
+        while (parser.getParsingContext() != arrayContext) {
+            if (parser.nextToken() == null) {
+                finished = true;
+                return;
+            }
+        }
+    }
+
+    static String describe(DatabindException e) {
+        String message = e.getOriginalMessage();
+        if (e instanceof JsonMappingException mappingException && !mappingException.getPath().isEmpty()) {
+            String field = mappingException.getPath().stream()
+                    .map(reference -> reference.getFieldName() != null ? reference.getFieldName() : String.valueOf(reference.getIndex()))
+                    .collect(Collectors.joining("."));
+            return field + ": " + message;
+        }
+        return message;
+    }
+}
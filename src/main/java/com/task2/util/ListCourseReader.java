@@ -0,0 +1,37 @@
+package com.task2.util;
+
+import com.task2.model.dto.CourseDto;
+
+import java.util.List;
+
+/**
+ * Reads courses that were already bound from a request body.
+ */
+public class ListCourseReader implements CourseRecordReader {
+
+    private final List<CourseDto> courseDtos;
+    private int nextIndex;
+
+    public ListCourseReader(List<CourseDto> courseDtos) {
+        this.courseDtos = courseDtos;
+    }
+
+    @Override
+    public CourseRecord next() {
+        if (nextIndex == courseDtos.size()) {
+            return null;
+        }
+        int index = nextIndex++;
+        CourseDto courseDto = courseDtos.get(index);
+        return courseDto == null ? CourseRecord.rejected(index, "Expected a JSON object but found null") : CourseRecord.of(index, courseDto);
+    }
+
+    @Override
+    public long getNextIndex() {
+        return nextIndex;
+    }
+
+    @Override
+    public void close() {
+    }
+}
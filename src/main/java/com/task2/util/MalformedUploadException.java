@@ -0,0 +1,14 @@
+package com.task2.util;
+
+import java.io.IOException;
+
+/**
+ * Thrown by a {@link CourseRecordReader} when the file is broken in a way it cannot recover from,
+ * so no further records can be read.
+ */
+public class MalformedUploadException extends IOException {
+
+    public MalformedUploadException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
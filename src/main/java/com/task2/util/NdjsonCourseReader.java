@@ -0,0 +1,70 @@
+package com.task2.util;
+
+import com.fasterxml.jackson.core.exc.StreamReadException;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.task2.model.dto.CourseDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Reads newline-delimited JSON, one course object per line. Every line is bound on its own,
+ * so malformed JSON only rejects the line it is on. Blank lines are skipped and do not count as records.
+ * The reader must be created for {@link CourseDto}.
+ */
+public class NdjsonCourseReader implements CourseRecordReader {
+
+    private final BufferedReader reader;
+    private final ObjectReader courseReader;
+    private long nextIndex;
+
+    public NdjsonCourseReader(BufferedReader reader, ObjectReader courseReader) {
+        this.reader = reader;
+        this.courseReader = courseReader;
+    }
+
+    @Override
+    public CourseRecord next() throws IOException {
+        String line = nextLine();
+        if (line == null) {
+            return null;
+        }
+        long index = nextIndex++;
+        try {
+            return CourseRecord.of(index, courseReader.readValue(line));
+        } catch (StreamReadException e) {
+            return CourseRecord.rejected(index, "Malformed JSON: " + e.getOriginalMessage());
+        } catch (DatabindException e) {
+            return CourseRecord.rejected(index, JsonArrayCourseReader.describe(e));
+        }
+    }
+
+    @Override
+    public long skip(long count) throws IOException {
+        long skipped = 0;
+        while (skipped < count && nextLine() != null) {
+            nextIndex++;
+            skipped++;
+        }
+        return skipped;
+    }
+
+    @Override
+    public long getNextIndex() {
+        return nextIndex;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String nextLine() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+        } while (line != null && line.isBlank());
+        return line;
+    }
+}
@@ -0,0 +1,124 @@
+package com.task2.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory index that finds entries by a prefix of their texts or of any word in them, ignoring case and
+ * repeated whitespace. Terms are kept in a sorted skip list, so a lookup is a seek to the prefix and a scan of the
+ * following terms, without locking. Writers must be serialized by the caller; readers may run concurrently and
+ * see an entry that is being replaced either with its old or its new texts, or briefly not at all.
+ *
+ * @param <T> Type of the values returned by lookups.
+ */
+public class PrefixIndex<T> {
+
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final ConcurrentSkipListMap<String, T> terms = new ConcurrentSkipListMap<>();
+    private final Map<String, List<String>> termsByKey = new ConcurrentHashMap<>();
+
+    /**
+     * Adds an entry or replaces the texts and value of the entry with the same key.
+     *
+     * @param key Identifies the entry; must not contain {@code \u0000}.
+     * @param value Returned by lookups that match one of the texts.
+     * @param texts Texts the entry is found by; null and blank texts are skipped.
+     */
+    public void put(String key, T value, Collection<String> texts) {
+        remove(key);
+        List<String> entryTerms = new ArrayList<>();
+        for (String text : texts) {
+            for (String term : termsOf(text)) {
+                String indexKey = term + KEY_SEPARATOR + key;
+                if (terms.put(indexKey, value) == null) {
+                    entryTerms.add(indexKey);
+                }
+            }
+        }
+        termsByKey.put(key, entryTerms);
+    }
+
+    public void remove(String key) {
+        List<String> entryTerms = termsByKey.remove(key);
+        if (entryTerms != null) {
+            entryTerms.forEach(terms::remove);
+        }
+    }
+
+    public void clear() {
+        termsByKey.clear();
+        terms.clear();
+    }
+
+    public int size() {
+        return termsByKey.size();
+    }
+
+    /**
+     * @return Keys of all entries, a live view.
+     */
+    public Set<String> keys() {
+        return termsByKey.keySet();
+    }
+
+    /**
+     * Finds the entries with a text, or a word of a text, that starts with the prefix.
+     *
+     * @param prefix Start of the text to look for; matched ignoring case.
+     * @param limit Maximum number of entries to return.
+     * @return Values of the matching entries ordered by the matched term, each entry once. Empty for a blank prefix.
+     */
+    public List<T> find(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        ConcurrentNavigableMap<String, T> matches = terms.subMap(normalized, true, normalized + Character.MAX_VALUE, false);
+        Set<String> seen = new HashSet<>();
+        List<T> values = new ArrayList<>(limit);
+        for (Map.Entry<String, T> match : matches.entrySet()) {
+            String key = match.getKey().substring(match.getKey().indexOf(KEY_SEPARATOR) + 1);
+            if (seen.add(key)) {
+                values.add(match.getValue());
+                if (values.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * The normalized text and every suffix of it that starts at a word, so "Linear Algebra" is found by
+     * "lin", "linear al" and "alg".
+     */
+    static Set<String> termsOf(String text) {
+        Set<String> termSet = new LinkedHashSet<>();
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return termSet;
+        }
+        termSet.add(normalized);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            termSet.add(normalized.substring(i + 1));
+        }
+        return termSet;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT).replace(KEY_SEPARATOR, ' ');
+    }
+}
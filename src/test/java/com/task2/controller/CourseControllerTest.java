@@ -6,25 +6,48 @@ import static com.task2.model.constant.Department.ELECTRONICS;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.times;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task2.exception.ReportNotReadyException;
+import com.task2.model.constant.IngestMode;
+import com.task2.model.constant.PaginationMode;
+import com.task2.model.constant.ReportFileState;
+import com.task2.model.constant.SuggestionType;
+import com.task2.model.dto.BatchResponse;
 import com.task2.model.dto.CourseDto;
 import com.task2.model.dto.CourseFilterRequest;
 import com.task2.model.dto.CourseForm;
+import com.task2.model.dto.CourseStatsResponse;
+import com.task2.model.dto.CreditStats;
+import com.task2.model.dto.KeysetSlice;
+import com.task2.model.dto.ReportFileStatus;
+import com.task2.model.dto.Suggestion;
 import com.task2.model.dto.UploadFileResponse;
+import com.task2.model.dto.UploadJobStatus;
 import com.task2.service.CourseService;
 import com.task2.service.FileParserService;
+import com.task2.service.ReportDownload;
+import com.task2.service.ReportFileService;
+import com.task2.service.SuggestionService;
+import com.task2.service.UploadJobService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -37,11 +60,16 @@ import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -62,6 +90,15 @@ public class CourseControllerTest {
     @MockBean
     private FileParserService fileParserService;
 
+    @MockBean
+    private UploadJobService uploadJobService;
+
+    @MockBean
+    private ReportFileService reportFileService;
+
+    @MockBean
+    private SuggestionService suggestionService;
+
     @BeforeEach
     public void setUp() {
         mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
@@ -96,7 +133,7 @@ public class CourseControllerTest {
     @Test
     public void testGetCourseById() throws Exception {
         Long courseId = 1L;
-        CourseForm courseForm = new CourseForm();
+        CourseForm courseForm = new CourseForm("course7", "CS1099", null, 3, List.of(COMPUTER_SCIENCE), null);
         when(courseService.getCourseById(courseId)).thenReturn(courseForm);
 
         mockMvc.perform(get("/api/course/{id}", courseId))
@@ -135,42 +172,254 @@ public class CourseControllerTest {
     @Test
     public void testGetCourses() throws Exception {
         PageImpl<CourseDto> courseDtos = new PageImpl<>(Arrays.asList(new CourseDto(), new CourseDto()));
-        when(courseService.getCourses(any(CourseFilterRequest.class))).thenReturn(courseDtos);
+        when(courseService.listCourses(any(CourseFilterRequest.class))).thenReturn(courseDtos);
 
         mockMvc.perform(post("/api/course/_list")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(asJsonString(new CourseFilterRequest())))
                 .andExpect(status().isOk());
 
-        verify(courseService).getCourses(any(CourseFilterRequest.class));
+        verify(courseService).listCourses(any(CourseFilterRequest.class));
+    }
+
+    @Test
+    public void testGetCoursesWithKeysetPagination() throws Exception {
+        CourseFilterRequest filterRequest = new CourseFilterRequest();
+        filterRequest.setPagination(PaginationMode.KEYSET);
+        when(courseService.listCourses(any(CourseFilterRequest.class)))
+                .thenReturn(new KeysetSlice<>(Arrays.asList(new CourseDto(), new CourseDto()), 2, "next"));
+
+        mockMvc.perform(post("/api/course/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(filterRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextToken").value("next"))
+                .andExpect(jsonPath("$.content.length()").value(2));
+    }
+
+    @Test
+    public void testGetCoursesByIds() throws Exception {
+        CourseForm courseForm = new CourseForm("course7", "CS1099", null, 3, List.of(COMPUTER_SCIENCE), null);
+        BatchResponse<CourseForm> batch = new BatchResponse<>();
+        batch.setItems(Arrays.asList(courseForm, null));
+        batch.setMissingIds(List.of(42L));
+        when(courseService.getCoursesByIds(List.of(7L, 42L))).thenReturn(batch);
+
+        mockMvc.perform(post("/api/course/_batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[7, 42]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].code").value("CS1099"))
+                .andExpect(jsonPath("$.items[1]").isEmpty())
+                .andExpect(jsonPath("$.missingIds[0]").value(42));
+    }
+
+    @Test
+    public void testSuggest() throws Exception {
+        when(suggestionService.suggest("alg", 5)).thenReturn(List.of(
+                new Suggestion(SuggestionType.COURSE, 3L, "MA201 - Linear algebra"),
+                new Suggestion(SuggestionType.INSTRUCTOR, 7L, "Alga Smith")));
+
+        mockMvc.perform(get("/api/course/_suggest").param("q", "alg").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].type").value("COURSE"))
+                .andExpect(jsonPath("$[0].id").value(3))
+                .andExpect(jsonPath("$[0].text").value("MA201 - Linear algebra"))
+                .andExpect(jsonPath("$[1].type").value("INSTRUCTOR"));
+    }
+
+    @Test
+    public void testGetCourseStats() throws Exception {
+        CourseStatsResponse stats = new CourseStatsResponse();
+        CreditStats total = new CreditStats();
+        total.setCourses(2);
+        total.setTotalCredits(7L);
+        stats.setTotal(total);
+        when(courseService.getCourseStats(any(CourseFilterRequest.class))).thenReturn(stats);
+
+        mockMvc.perform(post("/api/course/_stats")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new CourseFilterRequest())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total.courses").value(2))
+                .andExpect(jsonPath("$.total.totalCredits").value(7));
     }
 
     @Test
     public void testGenerateReport() throws Exception {
         byte[] reportData = "report data".getBytes();
-        when(courseService.generateCourseReport(any(CourseFilterRequest.class))).thenReturn(reportData);
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write(reportData);
+            return null;
+        }).when(courseService).writeCourseReport(any(CourseFilterRequest.class), any(OutputStream.class));
 
-        mockMvc.perform(post("/api/course/_report")
+        MvcResult mvcResult = mockMvc.perform(post("/api/course/_report")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(asJsonString(new CourseFilterRequest())))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
                 .andExpect(status().isOk())
                 .andExpect(header().stringValues(HttpHeaders.CONTENT_DISPOSITION, "form-data; name=\"attachment\"; filename=\"courses-report.csv\""))
                 .andExpect(header().string(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE))
-                .andReturn().getResponse().getContentAsByteArray();
+                .andExpect(content().bytes(reportData));
+
+        verify(courseService).writeCourseReport(any(CourseFilterRequest.class), any(OutputStream.class));
+    }
+
+    @Test
+    public void testGenerateReportIsCachedWithETag() throws Exception {
+        CourseFilterRequest filterRequest = new CourseFilterRequest();
+        filterRequest.setCredits(42);
+        byte[] reportData = "cached report".getBytes();
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write(reportData);
+            return null;
+        }).when(courseService).writeCourseReport(any(CourseFilterRequest.class), any(OutputStream.class));
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/course/_report")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(filterRequest)))
+                .andReturn();
+        String etag = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(reportData))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(post("/api/course/_report")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(filterRequest))
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        mvcResult = mockMvc.perform(post("/api/course/_report")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(filterRequest)))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().bytes(reportData));
+
+        verify(courseService, times(1)).writeCourseReport(any(CourseFilterRequest.class), any(OutputStream.class));
+    }
+
+    @Test
+    public void testGenerateReportFile() throws Exception {
+        ReportFileStatus status = new ReportFileStatus();
+        status.setReportId("report-1");
+        status.setState(ReportFileState.QUEUED);
+        when(reportFileService.submit(any(CourseFilterRequest.class))).thenReturn(status);
+
+        mockMvc.perform(post("/api/course/_report/async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(new CourseFilterRequest())))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.reportId").value("report-1"))
+                .andExpect(jsonPath("$.state").value("QUEUED"));
+    }
+
+    @Test
+    public void testDownloadReportFileRange() throws Exception {
+        Path file = Files.createTempFile("course-report-", ".csv");
+        try {
+            Files.writeString(file, "Name,Credits\r\ncourse7,3\r\n");
+            when(reportFileService.openDownload("report-1")).thenReturn(new ReportDownload(file, () -> { }));
+
+            mockMvc.perform(get("/api/course/_report/files/report-1/content")
+                            .header(HttpHeaders.RANGE, "bytes=14-"))
+                    .andExpect(status().isPartialContent())
+                    .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 14-24/25"))
+                    .andExpect(content().string("course7,3\r\n"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testDownloadReportFileNotReady() throws Exception {
+        when(reportFileService.openDownload("report-1")).thenThrow(new ReportNotReadyException("Report report-1 is RUNNING"));
 
-        verify(courseService).generateCourseReport(any(CourseFilterRequest.class));
+        mockMvc.perform(get("/api/course/_report/files/report-1/content"))
+                .andExpect(status().isConflict());
     }
 
     @Test
     public void testUploadFile() throws Exception {
         MockMultipartFile file = new MockMultipartFile("file", "courses.json", "application/json", "[]".getBytes());
         UploadFileResponse response = new UploadFileResponse();
-        when(fileParserService.processJsonFile(any(MultipartFile.class))).thenReturn(response);
+        when(fileParserService.processFile(any(MultipartFile.class), eq(IngestMode.RECORD), isNull())).thenReturn(response);
 
         mockMvc.perform(multipart("/api/course/upload")
                         .file(file))
                 .andExpect(status().isOk());
 
-        verify(fileParserService, times(1)).processJsonFile(any(MultipartFile.class));
+        verify(fileParserService, times(1)).processFile(any(MultipartFile.class), eq(IngestMode.RECORD), isNull());
+    }
+
+    @Test
+    public void testUploadFileInBatchMode() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "courses.json", "application/json", "[]".getBytes());
+        when(fileParserService.processFile(any(MultipartFile.class), eq(IngestMode.BATCH), isNull())).thenReturn(new UploadFileResponse());
+
+        mockMvc.perform(multipart("/api/course/upload")
+                        .file(file)
+                        .param("mode", "BATCH"))
+                .andExpect(status().isOk());
+
+        verify(fileParserService, times(1)).processFile(any(MultipartFile.class), eq(IngestMode.BATCH), isNull());
+    }
+
+    @Test
+    public void testUpsertCourses() throws Exception {
+        CourseDto courseDto = new CourseDto();
+        courseDto.setName("course1");
+        courseDto.setCode("CS101");
+        courseDto.setInstructorId(1L);
+        when(fileParserService.processCourses(anyList(), eq(IngestMode.UPSERT))).thenReturn(new UploadFileResponse(1, 0));
+
+        mockMvc.perform(put("/api/course/_bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(asJsonString(List.of(courseDto))))
+                .andExpect(status().isOk());
+
+        verify(fileParserService, times(1)).processCourses(anyList(), eq(IngestMode.UPSERT));
+    }
+
+    @Test
+    public void testUploadFileAsync() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "courses.json", "application/json", "[]".getBytes());
+        UploadJobStatus jobStatus = new UploadJobStatus();
+        jobStatus.setJobId("job-1");
+        when(uploadJobService.submit(any(MultipartFile.class), eq(IngestMode.BATCH), isNull())).thenReturn(jobStatus);
+
+        mockMvc.perform(multipart("/api/course/upload/async")
+                        .file(file)
+                        .param("mode", "BATCH"))
+                .andExpect(status().isAccepted());
+
+        verify(uploadJobService, times(1)).submit(any(MultipartFile.class), eq(IngestMode.BATCH), isNull());
+    }
+
+    @Test
+    public void testGetUploadJob() throws Exception {
+        when(uploadJobService.getStatus("job-1")).thenReturn(new UploadJobStatus());
+
+        mockMvc.perform(get("/api/course/upload/{jobId}", "job-1"))
+                .andExpect(status().isOk());
+
+        verify(uploadJobService).getStatus("job-1");
+    }
+
+    @Test
+    public void testCancelUploadJob() throws Exception {
+        when(uploadJobService.cancel("job-1")).thenReturn(new UploadJobStatus());
+
+        mockMvc.perform(delete("/api/course/upload/{jobId}", "job-1"))
+                .andExpect(status().isOk());
+
+        verify(uploadJobService).cancel("job-1");
     }
 }
\ No newline at end of file
@@ -10,8 +10,10 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.task2.model.dto.BatchResponse;
 import com.task2.model.dto.InstructorDto;
 import com.task2.service.InstructorService;
 
@@ -27,6 +29,7 @@ import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.util.Arrays;
+import java.util.List;
 
 import org.mockito.ArgumentCaptor;
 import org.junit.jupiter.api.BeforeEach;
@@ -65,6 +68,22 @@ public class InstructorControllerTest {
         }
     }
 
+    @Test
+    public void testGetInstructorsByIds() throws Exception {
+        BatchResponse<InstructorDto> batch = new BatchResponse<>();
+        batch.setItems(Arrays.asList(null, instructorDto));
+        batch.setMissingIds(List.of(3L));
+        when(instructorService.getInstructorsByIds(List.of(3L, 1L))).thenReturn(batch);
+
+        mockMvc.perform(post("/api/instructor/_batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[3, 1]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0]").isEmpty())
+                .andExpect(jsonPath("$.items[1].email").value("instructor89@gmail.com"))
+                .andExpect(jsonPath("$.missingIds[0]").value(3));
+    }
+
     @Test
     public void testGetAllInstructors() throws Exception {
         PageImpl<InstructorDto> instructorDtos = new PageImpl<>(Arrays.asList(new InstructorDto(), new InstructorDto()));
@@ -0,0 +1,103 @@
+package com.task2.service;
+
+import com.task2.model.dto.CourseForm;
+import com.task2.model.dto.InstructorForm;
+import com.task2.model.dto.NearCacheStats;
+import com.task2.model.event.CourseChangedEvent;
+import com.task2.model.event.InstructorChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CourseReadCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private CourseReadCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CourseReadCache();
+        ReflectionTestUtils.setField(cache, "maxCourses", 100L);
+        ReflectionTestUtils.setField(cache, "maxInstructors", 100L);
+        ReflectionTestUtils.setField(cache, "ttlMinutes", 10L);
+        cache.initCaches();
+    }
+
+    @Test
+    void testServesRepeatedReadsFromCache() {
+        CourseForm first = cache.getCourse(1L, this::loadCourse);
+        CourseForm second = cache.getCourse(1L, this::loadCourse);
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        NearCacheStats stats = cache.getStats().get(0);
+        assertThat(stats.getName()).isEqualTo("courses");
+        assertThat(stats.getHits()).isEqualTo(1);
+        assertThat(stats.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void testDoesNotCacheMissingEntries() {
+        assertThat(cache.getInstructor(5L, id -> null)).isNull();
+        assertThat(cache.getInstructor(5L, this::loadInstructor).getId()).isEqualTo(5L);
+    }
+
+    @Test
+    void testInvalidatesOnlyTheChangedCourse() {
+        cache.getCourse(1L, this::loadCourse);
+        cache.getCourse(2L, this::loadCourse);
+
+        cache.onCourseChanged(new CourseChangedEvent(1L));
+        cache.getCourse(1L, this::loadCourse);
+        cache.getCourse(2L, this::loadCourse);
+        assertThat(loads).hasValue(3);
+
+        cache.onCourseChanged(new CourseChangedEvent(List.of(2L, 3L)));
+        cache.getCourse(1L, this::loadCourse);
+        cache.getCourse(2L, this::loadCourse);
+        assertThat(loads).hasValue(4);
+
+        cache.onCourseChanged(CourseChangedEvent.bulk());
+        cache.getCourse(1L, this::loadCourse);
+        cache.getCourse(2L, this::loadCourse);
+        assertThat(loads).hasValue(6);
+    }
+
+    @Test
+    void testInstructorChangeDropsInstructorAndCoursesShowingIt() {
+        cache.getInstructor(10L, this::loadInstructor);
+        cache.getCourse(1L, this::loadCourse);
+        cache.getCourse(2L, this::loadCourse);
+        cache.getCourse(3L, this::loadCourse);
+
+        cache.onInstructorChanged(new InstructorChangedEvent(10L));
+
+        cache.getInstructor(10L, this::loadInstructor);
+        cache.getCourse(1L, this::loadCourse);
+        cache.getCourse(2L, this::loadCourse);
+        cache.getCourse(3L, this::loadCourse);
+        assertThat(loads).hasValue(7);
+    }
+
+    /**
+     * Courses with an odd ID are taught by instructor 10, the others by instructor 11.
+     */
+    private CourseForm loadCourse(Long id) {
+        loads.incrementAndGet();
+        return new CourseForm("course" + id, "C" + id, null, 3, List.of(), instructorForm(id % 2 == 1 ? 10L : 11L));
+    }
+
+    private InstructorForm loadInstructor(Long id) {
+        loads.incrementAndGet();
+        return instructorForm(id);
+    }
+
+    private static InstructorForm instructorForm(Long id) {
+        return new InstructorForm(id, "First" + id, "Last" + id, "instructor" + id + "@gmail.com");
+    }
+}
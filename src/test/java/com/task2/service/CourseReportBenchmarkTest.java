@@ -0,0 +1,110 @@
+package com.task2.service;
+
+import com.task2.model.dto.CourseFilterRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares sequential and partitioned report generation on a million courses. Run on its own with
+ * {@code mvn test -Dtest=CourseReportBenchmarkTest -Dbenchmark=true}; the timings are logged.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CourseReportBenchmarkTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CourseReportBenchmarkTest.class);
+    private static final int COURSES = 1_000_000;
+    private static final int ROUNDS = 3;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long instructorId;
+
+    @BeforeEach
+    void seed() {
+        instructorId = jdbcTemplate.queryForObject(
+                "INSERT INTO instructors (first_name, last_name, email) VALUES ('Bench', 'Mark', 'benchmark@example.com') RETURNING id",
+                Long.class);
+        jdbcTemplate.update("""
+                INSERT INTO courses (id, name, code, description, credits, departments_mask, instructor_id)
+                SELECT nextval('courses_seq'), 'Benchmark course ' || g, 'BM' || g, 'Generated for the report benchmark',
+                       g % 10, 5, ?
+                FROM generate_series(1, ?) g""", instructorId, COURSES);
+        jdbcTemplate.execute("ANALYZE courses");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM courses WHERE instructor_id = ?", instructorId);
+        jdbcTemplate.update("DELETE FROM instructors WHERE id = ?", instructorId);
+    }
+
+    @Test
+    void compareSequentialAndPartitionedReports() throws IOException {
+        CourseFilterRequest filterRequest = new CourseFilterRequest();
+        filterRequest.setInstructorId(instructorId);
+        long partitionSize = (long) ReflectionTestUtils.getField(courseService, "reportPartitionSize");
+        try {
+            ReflectionTestUtils.setField(courseService, "reportPartitionSize", Long.MAX_VALUE);
+            Run sequential = bestOf(filterRequest);
+            ReflectionTestUtils.setField(courseService, "reportPartitionSize", partitionSize);
+            Run partitioned = bestOf(filterRequest);
+
+            assertThat(partitioned.bytes()).isEqualTo(sequential.bytes());
+            LOG.info("Report of {} courses ({} bytes): sequential {} ms, partitions of {} IDs {} ms",
+                    COURSES, sequential.bytes(), sequential.millis(), partitionSize, partitioned.millis());
+        } finally {
+            ReflectionTestUtils.setField(courseService, "reportPartitionSize", partitionSize);
+        }
+    }
+
+    private Run bestOf(CourseFilterRequest filterRequest) throws IOException {
+        long best = Long.MAX_VALUE;
+        long bytes = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            CountingOutputStream outputStream = new CountingOutputStream();
+            long start = System.nanoTime();
+            courseService.writeCourseReport(filterRequest, outputStream);
+            best = Math.min(best, (System.nanoTime() - start) / 1_000_000);
+            bytes = outputStream.count;
+        }
+        return new Run(best, bytes);
+    }
+
+    private record Run(long millis, long bytes) {
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
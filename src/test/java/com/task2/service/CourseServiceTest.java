@@ -5,35 +5,57 @@ import static com.task2.model.constant.Department.MATHEMATICS;
 import static com.task2.model.constant.Department.ELECTRONICS;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.task2.exception.InvalidContinuationTokenException;
 import com.task2.model.Course;
 import com.task2.model.Instructor;
+import com.task2.model.constant.CountMode;
+import com.task2.model.constant.CourseSort;
 import com.task2.model.constant.Department;
+import com.task2.model.constant.PaginationMode;
 import com.task2.model.dto.CourseDto;
 import com.task2.model.dto.CourseFilterRequest;
 import com.task2.model.dto.CourseForm;
+import com.task2.model.dto.CourseStatsResponse;
+import com.task2.model.dto.KeysetSlice;
+import com.task2.model.dto.Suggestion;
+import com.task2.model.event.CourseChangedEvent;
+import com.task2.model.event.InstructorChangedEvent;
 import com.task2.repository.InstructorRepository;
 import com.task2.repository.CourseRepository;
+import com.task2.util.ContinuationToken;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
 import org.mockito.MockitoAnnotations;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.AfterEach;
 
 import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -53,6 +75,21 @@ class CourseServiceTest {
     @Autowired
     private InstructorRepository instructorRepository;
 
+    @Autowired
+    private CourseReadCache courseReadCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SuggestionService suggestionService;
+
+    @Autowired
+    private CourseReadModel courseReadModel;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private Instructor instructor;
     private Course course;
     private Course course2;
@@ -94,14 +131,20 @@ class CourseServiceTest {
         courseDto.setCredits(30);
     }
 
+    @AfterEach
+    void cleanUp() {
+        courseRepository.deleteAll(courseRepository.findByInstructorId(instructor.getId()));
+        instructorRepository.deleteById(instructor.getId());
+    }
+
     @Test
     @Transactional
     void createCourseTest() {
         courseService.createCourse(courseDto);
-        Course course = courseRepository.findByInstructorId(instructor.getId()).get(0);
+        Course course = courseRepository.findByCode(courseDto.getCode());
         assertNotNull(course);
         assertEquals("course7", course.getName());
-        assertEquals("CS1089", course.getCode());
+        assertEquals("CS1055", course.getCode());
         assertEquals(Stream.of(COMPUTER_SCIENCE, Department.MATHEMATICS, Department.ELECTRONICS).collect(Collectors.toSet()), course.getDepartments());
         assertEquals(30, course.getCredits());
         assertEquals(instructor, course.getInstructor());
@@ -120,6 +163,61 @@ class CourseServiceTest {
         assertEquals(instructor, updatedCourse.getInstructor());
     }
 
+    @Test
+    void repeatedCourseWritesReadInstructorFromSecondLevelCacheTest() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        instructorRepository.findById(instructor.getId());
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<String> codes = List.of("L2C001", "L2C002", "L2C003");
+        try {
+            for (String code : codes) {
+                // Drops the near-cache entry, so every write has to look the instructor up again.
+                courseReadCache.onInstructorChanged(new InstructorChangedEvent(instructor.getId()));
+                courseDto.setCode(code);
+                courseService.createCourse(courseDto);
+            }
+
+            EntityStatistics instructorStatistics = statistics.getEntityStatistics(Instructor.class.getName());
+            assertEquals(0, instructorStatistics.getLoadCount());
+            assertEquals(0, instructorStatistics.getFetchCount());
+            assertEquals(codes.size(), instructorStatistics.getCacheHitCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+            codes.stream()
+                    .map(courseRepository::findByCode)
+                    .filter(created -> created != null)
+                    .forEach(courseRepository::delete);
+        }
+    }
+
+    @Test
+    void findInstructorByEmailUsesNaturalIdCacheTest() {
+        Instructor cached = new Instructor();
+        cached.setFirstName("Ada");
+        cached.setLastName("Cache");
+        cached.setEmail("cache" + System.nanoTime() + "@example.com");
+        cached = instructorRepository.save(cached);
+        try {
+            instructorRepository.findByEmail(cached.getEmail());
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.setStatisticsEnabled(true);
+            statistics.clear();
+
+            for (int i = 0; i < 3; i++) {
+                assertEquals(cached.getId(), instructorRepository.findByEmail(cached.getEmail()).getId());
+            }
+
+            assertEquals(0, statistics.getNaturalIdStatistics(Instructor.class.getName()).getExecutionCount());
+            assertEquals(0, statistics.getEntityStatistics(Instructor.class.getName()).getLoadCount());
+            assertEquals(3, statistics.getNaturalIdCacheHitCount());
+        } finally {
+            entityManagerFactory.unwrap(SessionFactory.class).getStatistics().setStatisticsEnabled(false);
+            instructorRepository.delete(cached);
+        }
+    }
+
     @Test
     @Transactional
     void getCourseByIdTest() {
@@ -129,7 +227,8 @@ class CourseServiceTest {
         assertEquals("CS1089", courseForm.getCode());
         assertEquals(Stream.of(COMPUTER_SCIENCE, Department.MATHEMATICS, Department.ELECTRONICS).collect(Collectors.toSet()), course.getDepartments());
         assertEquals(30, courseForm.getCredits());
-        assertEquals(instructor, courseForm.getInstructor());
+        assertEquals(instructor.getId(), courseForm.getInstructor().getId());
+        assertEquals(instructor.getEmail(), courseForm.getInstructor().getEmail());
     }
 
     @Test
@@ -143,20 +242,202 @@ class CourseServiceTest {
     @Test
     void getCoursesTest() {
         CourseFilterRequest filterRequest = new CourseFilterRequest();
-        filterRequest.setInstructorId(1L);
-        filterRequest.setCredits(3);
+        filterRequest.setInstructorId(instructor.getId());
+        filterRequest.setCredits(30);
         filterRequest.setDepartments(Set.of(COMPUTER_SCIENCE, MATHEMATICS));
         Page<CourseDto> result = courseService.getCourses(filterRequest);
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
     }
 
+    @Test
+    void getCoursesProjectsDtoTest() {
+        CourseFilterRequest filterRequest = new CourseFilterRequest();
+        filterRequest.setInstructorId(instructor.getId());
+        filterRequest.setDepartments(Set.of(ELECTRONICS));
+
+        Page<CourseDto> result = courseService.getCourses(filterRequest);
+
+        assertThat(result.getContent()).singleElement().satisfies(courseDto -> {
+            assertEquals(course.getCode(), courseDto.getCode());
+            assertEquals(course.getName(), courseDto.getName());
+            assertEquals(course.getCredits(), courseDto.getCredits());
+            assertEquals(course.getDepartments(), courseDto.getDepartments());
+            assertEquals(instructor.getId(), courseDto.getInstructorId());
+        });
+    }
+
+    @Test
+    void getCoursesWithoutCountTest() {
+        CourseFilterRequest filterRequest = new CourseFilterRequest();
+        filterRequest.setCount(CountMode.NONE);
+        filterRequest.setSize(1);
+        Slice<CourseDto> result = courseService.listCourses(filterRequest);
+        assertThat(result).isNotInstanceOf(Page.class);
+        assertThat(result.getContent()).hasSize(1);
+        assertEquals(courseRepository.count() > 1, result.hasNext());
+    }
+
+    @Test
+    void getCoursesWithEstimatedCountTest() {
+        CourseFilterRequest filterRequest = new CourseFilterRequest();
+        filterRequest.setCount(CountMode.ESTIMATED);
+        filterRequest.setSize(1);
+        Page<CourseDto> result = courseService.getCourses(filterRequest);
+        assertThat(result.getContent()).hasSize(1);
+        assertEquals(courseRepository.count() > 1, result.hasNext());
+        assertThat(result.getTotalElements()).isPositive();
+    }
+
+    @Test
+    void getCoursesWithKeysetPaginationTest() {
+        CourseFilterRequest filterRequest = new CourseFilterRequest();
+        filterRequest.setPagination(PaginationMode.KEYSET);
+        filterRequest.setSize(1);
+        List<Long> ids = new ArrayList<>();
+        KeysetSlice<CourseDto> slice;
+        do {
+            slice = courseService.getCoursesAfter(filterRequest);
+            assertThat(slice.getContent()).hasSizeLessThanOrEqualTo(1);
+            slice.getContent().forEach(courseDto -> ids.add(courseRepository.findAll().stream()
+                    .filter(course -> course.getCode().equals(courseDto.getCode()))
+                    .findFirst().orElseThrow().getId()));
+            filterRequest.setContinuationToken(slice.getNextToken());
+        } while (slice.hasNext());
+
+        assertThat(ids).isSorted().doesNotHaveDuplicates().hasSize((int) courseRepository.count());
+    }
+
+    @Test
+    void getCoursesSortedWithKeysetPaginationTest() {
+        CourseFilterRequest filterRequest = new CourseFilterRequest();
+        filterRequest.setPagination(PaginationMode.KEYSET);
+        filterRequest.setSort(CourseSort.CREDITS);
+        filterRequest.setDirection(Sort.Direction.DESC);
+        filterRequest.setSize(1);
+        List<Integer> credits = new ArrayList<>();
+        KeysetSlice<CourseDto> slice;
+        do {
+            slice = courseService.getCoursesAfter(filterRequest);
+            slice.getContent().forEach(courseDto -> credits.add(courseDto.getCredits()));
+            filterRequest.setContinuationToken(slice.getNextToken());
+        } while (slice.hasNext());
+
+        assertThat(credits).hasSize((int) courseRepository.count()).isSortedAccordingTo(Comparator.reverseOrder());
+    }
+
+    @Test
+    void getCoursesSortedByNameTest() {
+        CourseFilterRequest filterRequest = new CourseFilterRequest();
+        filterRequest.setSort(CourseSort.NAME);
+        filterRequest.setSize(100);
+
+        List<String> names = courseService.getCourses(filterRequest).getContent().stream()
+                .map(CourseDto::getName)
+                .toList();
+
+        assertThat(names).isNotEmpty().isSorted();
+    }
+
+    @Test
+    void getCoursesRejectsTokenOfAnotherSortTest() {
+        CourseFilterRequest filterRequest = new CourseFilterRequest();
+        filterRequest.setPagination(PaginationMode.KEYSET);
+        filterRequest.setSort(CourseSort.NAME);
+        filterRequest.setContinuationToken(new ContinuationToken("ID:ASC", null, 1).encode());
+
+        assertThatThrownBy(() -> courseService.getCoursesAfter(filterRequest))
+                .isInstanceOf(InvalidContinuationTokenException.class);
+    }
+
+    @Test
+    @Transactional
+    void searchCoursesTest() {
+        courseDto.setName("Graph algorithms");
+        courseDto.setDescription("Shortest paths and spanning trees");
+        courseService.createCourse(courseDto);
+        CourseDto other = new CourseDto();
+        other.setName("Linear algebra");
+        other.setCode("MA2001");
+        other.setDescription("Matrices, graph of a linear map");
+        other.setInstructorId(instructor.getId());
+        other.setCredits(3);
+        courseService.createCourse(other);
+
+        CourseFilterRequest filterRequest = new CourseFilterRequest();
+        filterRequest.setSearch("graph");
+        assertEquals(CourseSort.RELEVANCE, filterRequest.getSort());
+        assertEquals(Sort.Direction.DESC, filterRequest.getDirection());
+
+        List<String> codes = courseService.getCourses(filterRequest).getContent().stream()
+                .map(CourseDto::getCode)
+                .toList();
+        assertThat(codes).containsExactly("CS1055", "MA2001");
+
+        filterRequest.setSearch("spanning trees");
+        assertThat(courseService.getCourses(filterRequest).getContent()).extracting(CourseDto::getCode).containsExactly("CS1055");
+
+        filterRequest.setSearch("graph");
+        filterRequest.setCredits(3);
+        assertThat(courseService.getCourses(filterRequest).getContent()).extracting(CourseDto::getCode).containsExactly("MA2001");
+    }
+
+    @Test
+    @Transactional
+    void searchCoursesWithKeysetPaginationTest() {
+        for (int i = 0; i < 5; i++) {
+            courseDto.setCode("DB10" + i);
+            courseDto.setName(i % 2 == 0 ? "Databases" : "Systems");
+            courseDto.setDescription("Relational databases " + "and indexes ".repeat(i));
+            courseService.createCourse(courseDto);
+        }
+        CourseFilterRequest filterRequest = new CourseFilterRequest();
+        filterRequest.setSearch("databases");
+        filterRequest.setPagination(PaginationMode.KEYSET);
+        filterRequest.setSize(2);
+        List<String> codes = new ArrayList<>();
+        KeysetSlice<CourseDto> slice;
+        do {
+            slice = courseService.getCoursesAfter(filterRequest);
+            slice.getContent().forEach(courseDto -> codes.add(courseDto.getCode()));
+            filterRequest.setContinuationToken(slice.getNextToken());
+        } while (slice.hasNext());
+
+        filterRequest.setPagination(PaginationMode.OFFSET);
+        filterRequest.setSize(10);
+        assertThat(codes).hasSize(5).doesNotHaveDuplicates()
+                .containsExactlyElementsOf(courseService.getCourses(filterRequest).getContent().stream().map(CourseDto::getCode).toList());
+    }
+
+    @Test
+    void getCourseStatsTest() {
+        CourseFilterRequest filterRequest = new CourseFilterRequest();
+        filterRequest.setInstructorId(instructor.getId());
+
+        CourseStatsResponse stats = courseService.getCourseStats(filterRequest);
+
+        List<Course> courses = courseRepository.findAll().stream()
+                .filter(c -> c.getInstructor().getId().equals(instructor.getId()))
+                .toList();
+        assertEquals(courses.size(), stats.getTotal().getCourses());
+        assertEquals(courses.stream().mapToLong(Course::getCredits).sum(), stats.getTotal().getTotalCredits());
+        assertThat(stats.getByInstructor()).singleElement()
+                .satisfies(group -> assertEquals(instructor.getId(), group.getInstructorId()));
+        long computerScience = courses.stream().filter(c -> c.getDepartments().contains(COMPUTER_SCIENCE)).count();
+        assertThat(stats.getByDepartment())
+                .filteredOn(group -> group.getDepartment() == COMPUTER_SCIENCE)
+                .singleElement()
+                .satisfies(group -> assertEquals(computerScience, group.getCourses()));
+    }
+
     @Test
     void generateCourseReport() throws IOException {
         CourseFilterRequest filterRequest = new CourseFilterRequest();
         filterRequest.setSize(10);
         filterRequest.setDepartments(Set.of(COMPUTER_SCIENCE));
-        byte[] reportBytes = courseService.generateCourseReport(filterRequest);
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+        courseService.writeCourseReport(filterRequest, report);
+        byte[] reportBytes = report.toByteArray();
         List<String> csvLines = readCsvLines(reportBytes);
         assertThat(csvLines).isNotEmpty();
         assertThat(csvLines.get(0)).isEqualTo("Name,Instructor id,Department,Description,Credits,Course Code");
@@ -173,6 +454,114 @@ class CourseServiceTest {
         }
     }
 
+    @Test
+    void partitionedReportMatchesSequentialReport() throws IOException {
+        List<CourseDto> courseDtos = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            CourseDto partitionedCourse = new CourseDto();
+            partitionedCourse.setName("Partitioned course " + i);
+            partitionedCourse.setCode("PR10" + i);
+            partitionedCourse.setCredits(i);
+            partitionedCourse.setInstructorId(instructor.getId());
+            courseDtos.add(partitionedCourse);
+        }
+        courseService.createCourses(courseDtos);
+
+        for (Sort.Direction direction : Sort.Direction.values()) {
+            CourseFilterRequest filterRequest = new CourseFilterRequest();
+            filterRequest.setDirection(direction);
+            ByteArrayOutputStream partitioned = new ByteArrayOutputStream();
+            ByteArrayOutputStream sequential = new ByteArrayOutputStream();
+
+            long partitionSize = (long) ReflectionTestUtils.getField(courseService, "reportPartitionSize");
+            try {
+                ReflectionTestUtils.setField(courseService, "reportPartitionSize", 2L);
+                courseService.writeCourseReport(filterRequest, partitioned);
+                ReflectionTestUtils.setField(courseService, "reportPartitionSize", Long.MAX_VALUE);
+                courseService.writeCourseReport(filterRequest, sequential);
+            } finally {
+                ReflectionTestUtils.setField(courseService, "reportPartitionSize", partitionSize);
+            }
+
+            assertThat(readCsvLines(partitioned.toByteArray())).hasSize((int) courseRepository.count() + 1);
+            assertThat(partitioned.toByteArray()).as(direction.name()).isEqualTo(sequential.toByteArray());
+        }
+    }
+
+    @Test
+    void upsertedChunkIsSuggested() throws InterruptedException {
+        CourseDto suggested = new CourseDto();
+        suggested.setName("Suggested course");
+        suggested.setCode("SG100");
+        suggested.setInstructorId(instructor.getId());
+        suggested.setCredits(3);
+
+        courseService.upsertCourses(List.of(suggested));
+
+        for (int i = 0; i < 100 && suggestionService.suggest("SG100", 5).isEmpty(); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(suggestionService.suggest("SG100", 5))
+                .extracting(Suggestion::getText)
+                .containsExactly("SG100 - Suggested course");
+    }
+
+    @Test
+    void readModelAppliesChangedCourses() throws InterruptedException {
+        CourseFilterRequest filterRequest = new CourseFilterRequest();
+        filterRequest.setInstructorId(instructor.getId());
+        ReflectionTestUtils.setField(courseReadModel, "enabled", true);
+        try {
+            courseReadModel.load();
+            awaitReadModel(filterRequest, List.of("course7"));
+
+            Long lowerId = jdbcTemplate.queryForObject(
+                    "SELECT min(g) FROM generate_series(1, ?) g WHERE NOT EXISTS (SELECT 1 FROM courses WHERE id = g)",
+                    Long.class, course.getId() - 1);
+            jdbcTemplate.update("INSERT INTO courses (id, name, code, credits, departments_mask, instructor_id) "
+                    + "VALUES (?, 'Inserted late', 'RM100', 3, 0, ?)", lowerId, instructor.getId());
+            courseReadModel.onCourseChanged(new CourseChangedEvent(lowerId));
+            awaitReadModel(filterRequest, List.of("Inserted late", "course7"));
+
+            CourseDto updated = new CourseDto();
+            updated.setName("Updated");
+            updated.setCode("RM100");
+            updated.setCredits(3);
+            updated.setInstructorId(instructor.getId());
+            courseService.updateCourse(lowerId, updated);
+            awaitReadModel(filterRequest, List.of("Updated", "course7"));
+
+            courseService.deleteCourse(course.getId());
+            awaitReadModel(filterRequest, List.of("Updated"));
+        } finally {
+            ReflectionTestUtils.setField(courseReadModel, "enabled", false);
+            ReflectionTestUtils.setField(courseReadModel, "index", null);
+        }
+    }
+
+    private void awaitReadModel(CourseFilterRequest filterRequest, List<String> names) throws InterruptedException {
+        List<String> listed = List.of();
+        for (int i = 0; i < 100; i++) {
+            if (courseReadModel.canServe(filterRequest)) {
+                listed = courseReadModel.list(filterRequest).getContent().stream().map(CourseDto::getName).toList();
+                if (listed.equals(names)) {
+                    return;
+                }
+            }
+            Thread.sleep(50);
+        }
+        assertThat(listed).isEqualTo(names);
+    }
+
+    @Test
+    void idPartitionTest() {
+        assertThat(CourseService.idPartition(1, 1, 10, 4, false)).containsExactly(1, 4);
+        assertThat(CourseService.idPartition(9, 1, 10, 4, false)).containsExactly(9, 10);
+        assertThat(CourseService.idPartition(10, 1, 10, 4, true)).containsExactly(7, 10);
+        assertThat(CourseService.idPartition(3, 1, 10, 4, true)).containsExactly(1, 3);
+        assertThat(CourseService.idPartition(5, 5, 6, Long.MAX_VALUE, false)).containsExactly(5, 6);
+    }
+
     private List<String> readCsvLines(byte[] bytes) throws IOException {
         List<String> lines = new ArrayList<>();
         BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(bytes)));
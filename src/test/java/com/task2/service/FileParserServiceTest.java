@@ -1,7 +1,12 @@
 package com.task2.service;
 
+import com.task2.model.Instructor;
 import com.task2.model.dto.CourseDto;
+import com.task2.model.dto.RejectedRecord;
 import com.task2.model.dto.UploadFileResponse;
+import com.task2.repository.CourseRepository;
+import com.task2.repository.CourseUpsertRepository.UpsertResult;
+import com.task2.repository.InstructorRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -12,14 +17,31 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
 @SpringBootTest
 @AutoConfigureMockMvc
 public class FileParserServiceTest {
@@ -27,9 +49,18 @@ public class FileParserServiceTest {
     @MockBean
     private CourseService courseService;
 
+    @MockBean
+    private UploadCheckpointService uploadCheckpointService;
+
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private InstructorRepository instructorRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -86,4 +117,265 @@ public class FileParserServiceTest {
 
         verify(courseService, times(2)).createCourse(any(CourseDto.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testProcessJsonFileInBatchMode() throws Exception {
+        String jsonContent = "[{\"name\":\"course7\",\"code\":\"CS101\",\"description\":\"something\",\"credits\":55,\"departments\":[\"COMPUTER_SCIENCE\",\"MATHEMATICS\"],\"instructorId\":1},{\"name\":\"course7\",\"code\":\"CS102\",\"description\":\"something\",\"credits\":\"invalid\",\"departments\":[\"COMPUTER_SCIENCE\"],\"instructorId\":1},{\"name\":\"course7\",\"code\":\"CS103\",\"description\":\"something\",\"credits\":50,\"departments\":[\"MATHEMATICS\"],\"instructorId\":1}]";
+        MockMultipartFile file = new MockMultipartFile("file", "test.json", "application/json", jsonContent.getBytes());
+        when(courseService.findExistingInstructorIds(anyCollection())).thenAnswer(invocation -> new HashSet<>(invocation.<Collection<Long>>getArgument(0)));
+        when(courseService.findExistingCodes(anyCollection())).thenReturn(Set.of("CS103"));
+        when(courseService.createCourses(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.multipart("/api/course/upload")
+                        .file(file)
+                        .param("mode", "BATCH"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String responseBody = result.getResponse().getContentAsString();
+        UploadFileResponse uploadFileResponse = objectMapper.readValue(responseBody, UploadFileResponse.class);
+        assertThat(uploadFileResponse.getSuccessfulRecords()).isEqualTo(1);
+        assertThat(uploadFileResponse.getFailedRecords()).isEqualTo(2);
+        assertThat(uploadFileResponse.getRejectedRecords())
+                .extracting(RejectedRecord::getIndex)
+                .containsExactlyInAnyOrder(1L, 2L);
+
+        verify(courseService, times(1)).findExistingInstructorIds(anyCollection());
+        verify(courseService, times(1)).findExistingCodes(anyCollection());
+        verify(courseService, times(1)).createCourses(anyList());
+        verify(courseService, never()).createCourse(any(CourseDto.class));
+    }
+
+    @Test
+    void testProcessJsonFileInCopyMode() throws Exception {
+        Instructor instructor = new Instructor();
+        instructor.setFirstName("Copy");
+        instructor.setLastName("Mode");
+        instructor.setEmail("copy" + System.nanoTime() + "@example.com");
+        instructor = instructorRepository.save(instructor);
+        long instructorId = instructor.getId();
+        String suffix = String.valueOf(System.nanoTime() % 1_000_000);
+        String jsonContent = "[{\"name\":\"course7\",\"code\":\"CA" + suffix + "\",\"credits\":55,\"departments\":[\"COMPUTER_SCIENCE\"],\"instructorId\":" + instructorId + "},"
+                + "{\"name\":\"course8\",\"code\":\"CB" + suffix + "\",\"credits\":50,\"departments\":[\"MATHEMATICS\"],\"instructorId\":" + instructorId + "},"
+                + "{\"name\":\"course9\",\"code\":\"CA" + suffix + "\",\"credits\":50,\"departments\":[\"MATHEMATICS\"],\"instructorId\":" + instructorId + "},"
+                + "{\"name\":\"course10\",\"code\":\"CC" + suffix + "\",\"credits\":50,\"departments\":[\"MATHEMATICS\"],\"instructorId\":999999},"
+                + "{\"name\":\"course11\",\"code\":\"CD" + suffix + "\",\"credits\":50,\"departments\":[\"MATHEMATICS\"],\"instructorId\":999999},"
+                + "{\"name\":\"course12\",\"code\":\"CD" + suffix + "\",\"credits\":50,\"departments\":[\"MATHEMATICS\"],\"instructorId\":" + instructorId + "}]";
+        MockMultipartFile file = new MockMultipartFile("file", "test.json", "application/json", jsonContent.getBytes());
+
+        try {
+            MvcResult result = mockMvc.perform(MockMvcRequestBuilders.multipart("/api/course/upload")
+                            .file(file)
+                            .param("mode", "COPY"))
+                    .andExpect(status().isOk())
+                    .andReturn();
+
+            String responseBody = result.getResponse().getContentAsString();
+            UploadFileResponse uploadFileResponse = objectMapper.readValue(responseBody, UploadFileResponse.class);
+            assertThat(uploadFileResponse.getSuccessfulRecords()).isEqualTo(3);
+            assertThat(uploadFileResponse.getFailedRecords()).isEqualTo(3);
+            assertThat(uploadFileResponse.getRejectedRecords())
+                    .extracting(RejectedRecord::getIndex, RejectedRecord::getReason)
+                    .containsExactly(
+                            tuple(2L, "code: Duplicate course code in file"),
+                            tuple(3L, "Instructor not found with ID: 999999"),
+                            tuple(4L, "Instructor not found with ID: 999999"));
+
+            verify(courseService, never()).createCourse(any(CourseDto.class));
+        } finally {
+            courseRepository.deleteAll(courseRepository.findByInstructorId(instructorId));
+            instructorRepository.deleteById(instructorId);
+        }
+    }
+
+    @Test
+    void testProcessJsonFileReportsRejectedRecords() throws Exception {
+        String jsonContent = "[{\"name\":\"course7\",\"code\":\"CS101\",\"credits\":55,\"departments\":[\"COMPUTER_SCIENCE\"],\"instructorId\":1},"
+                + "{\"name\":\"course7\",\"code\":\"CS102\",\"credits\":\"invalid\",\"departments\":[\"COMPUTER_SCIENCE\"],\"instructorId\":1},"
+                + "{\"name\":\"c\",\"code\":\"CS103\",\"credits\":50,\"departments\":[\"MATHEMATICS\"],\"instructorId\":1},"
+                + "{\"name\":\"course7\",\"code\":\"CS104\",\"credits\":50,\"departments\":[\"MATHEMATICS\"],\"instructorId\":1}]";
+        MockMultipartFile file = new MockMultipartFile("file", "test.json", "application/json", jsonContent.getBytes());
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.multipart("/api/course/upload")
+                        .file(file))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        UploadFileResponse uploadFileResponse = objectMapper.readValue(result.getResponse().getContentAsString(), UploadFileResponse.class);
+        assertThat(uploadFileResponse.getSuccessfulRecords()).isEqualTo(2);
+        assertThat(uploadFileResponse.getFailedRecords()).isEqualTo(2);
+        assertThat(uploadFileResponse.getRejectedRecords())
+                .extracting(RejectedRecord::getIndex)
+                .containsExactly(1L, 2L);
+        assertThat(uploadFileResponse.getRejectedRecords().get(0).getReason()).startsWith("credits: ");
+        assertThat(uploadFileResponse.getRejectedRecords().get(1).getReason()).startsWith("name: ");
+    }
+
+    @Test
+    void testProcessJsonFileInBatchModeRejectsDuplicateCodesAndUnknownInstructors() throws Exception {
+        String jsonContent = "[{\"name\":\"course7\",\"code\":\"CS101\",\"credits\":55,\"departments\":[\"COMPUTER_SCIENCE\"],\"instructorId\":1},"
+                + "{\"name\":\"course8\",\"code\":\"CS101\",\"credits\":50,\"departments\":[\"COMPUTER_SCIENCE\"],\"instructorId\":1},"
+                + "{\"name\":\"course9\",\"code\":\"CS102\",\"credits\":50,\"departments\":[\"MATHEMATICS\"],\"instructorId\":999}]";
+        MockMultipartFile file = new MockMultipartFile("file", "test.json", "application/json", jsonContent.getBytes());
+        when(courseService.findExistingInstructorIds(anyCollection())).thenReturn(Set.of(1L));
+        when(courseService.createCourses(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.multipart("/api/course/upload")
+                        .file(file)
+                        .param("mode", "BATCH"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        UploadFileResponse uploadFileResponse = objectMapper.readValue(result.getResponse().getContentAsString(), UploadFileResponse.class);
+        assertThat(uploadFileResponse.getSuccessfulRecords()).isEqualTo(1);
+        assertThat(uploadFileResponse.getFailedRecords()).isEqualTo(2);
+        assertThat(uploadFileResponse.getRejectedRecords())
+                .extracting(RejectedRecord::getReason)
+                .containsExactlyInAnyOrder("code: Duplicate course code in file", "Instructor not found with ID: 999");
+    }
+
+    @Test
+    void testProcessJsonFileInBatchModeKeepsRepeatedCodeWhenFirstRecordFails() throws Exception {
+        String jsonContent = "[{\"name\":\"broken\",\"code\":\"CS101\",\"credits\":55,\"departments\":[\"COMPUTER_SCIENCE\"],\"instructorId\":1},"
+                + "{\"name\":\"course8\",\"code\":\"CS101\",\"credits\":50,\"departments\":[\"COMPUTER_SCIENCE\"],\"instructorId\":1}]";
+        MockMultipartFile file = new MockMultipartFile("file", "test.json", "application/json", jsonContent.getBytes());
+        when(courseService.findExistingInstructorIds(anyCollection())).thenReturn(Set.of(1L));
+        List<String> storedNames = new ArrayList<>();
+        when(courseService.createCourses(anyList())).thenAnswer(invocation -> {
+            List<CourseDto> courseDtos = invocation.getArgument(0);
+            if (courseDtos.stream().anyMatch(courseDto -> courseDto.getName().equals("broken"))) {
+                throw new IllegalStateException("Insert failed");
+            }
+            courseDtos.forEach(courseDto -> storedNames.add(courseDto.getName()));
+            return courseDtos.size();
+        });
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.multipart("/api/course/upload")
+                        .file(file)
+                        .param("mode", "BATCH"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        UploadFileResponse uploadFileResponse = objectMapper.readValue(result.getResponse().getContentAsString(), UploadFileResponse.class);
+        assertThat(uploadFileResponse.getSuccessfulRecords()).isEqualTo(1);
+        assertThat(uploadFileResponse.getFailedRecords()).isEqualTo(1);
+        assertThat(uploadFileResponse.getRejectedRecords())
+                .extracting(RejectedRecord::getIndex)
+                .containsExactly(0L);
+        assertThat(storedNames).containsExactly("course8");
+    }
+
+    @Test
+    void testProcessGzippedCsvFile() throws Exception {
+        String csvContent = "name,code,credits,departments,instructorId\n"
+                + "course7,CS101,55,\"COMPUTER_SCIENCE,MATHEMATICS\",1\n"
+                + "course8,CS102,500,MATHEMATICS,1\n";
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(csvContent.getBytes(StandardCharsets.UTF_8));
+        }
+        MockMultipartFile file = new MockMultipartFile("file", "courses.csv.gz", "application/gzip", compressed.toByteArray());
+        when(courseService.findExistingInstructorIds(anyCollection())).thenReturn(Set.of(1L));
+        when(courseService.createCourses(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.multipart("/api/course/upload")
+                        .file(file)
+                        .param("mode", "BATCH"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        UploadFileResponse uploadFileResponse = objectMapper.readValue(result.getResponse().getContentAsString(), UploadFileResponse.class);
+        assertThat(uploadFileResponse.getSuccessfulRecords()).isEqualTo(1);
+        assertThat(uploadFileResponse.getFailedRecords()).isEqualTo(1);
+        assertThat(uploadFileResponse.getRejectedRecords())
+                .extracting(RejectedRecord::getIndex)
+                .containsExactly(1L);
+    }
+
+    @Test
+    void testProcessNdjsonFile() throws Exception {
+        String ndjsonContent = "{\"name\":\"course7\",\"code\":\"CS101\",\"credits\":55,\"departments\":[\"COMPUTER_SCIENCE\"],\"instructorId\":1}\n"
+                + "{\"name\":\"course8\",\"code\":\"CS102\",\"credits\":50,\"departments\":[\"MATHEMATICS\"],\"instructorId\":1}\n";
+        MockMultipartFile file = new MockMultipartFile("file", "courses.ndjson", "application/x-ndjson", ndjsonContent.getBytes());
+        when(courseService.findExistingInstructorIds(anyCollection())).thenReturn(Set.of(1L));
+        when(courseService.createCourses(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.multipart("/api/course/upload")
+                        .file(file)
+                        .param("mode", "BATCH"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        UploadFileResponse uploadFileResponse = objectMapper.readValue(result.getResponse().getContentAsString(), UploadFileResponse.class);
+        assertThat(uploadFileResponse.getSuccessfulRecords()).isEqualTo(2);
+        assertThat(uploadFileResponse.getFailedRecords()).isEqualTo(0);
+    }
+
+    @Test
+    void testProcessJsonFileResumesAfterCheckpoint() throws Exception {
+        String jsonContent = "[{\"name\":\"course7\",\"code\":\"CS101\",\"credits\":55,\"departments\":[\"COMPUTER_SCIENCE\"],\"instructorId\":1},"
+                + "{\"name\":\"course8\",\"code\":\"CS102\",\"credits\":50,\"departments\":[\"MATHEMATICS\"],\"instructorId\":1}]";
+        MockMultipartFile file = new MockMultipartFile("file", "test.json", "application/json", jsonContent.getBytes());
+        when(uploadCheckpointService.open(eq("upload-1"), eq("test.json"), eq(file.getSize()), anyString())).thenReturn(1L);
+        when(courseService.findExistingInstructorIds(anyCollection())).thenReturn(Set.of(1L));
+        when(courseService.createCourses(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.multipart("/api/course/upload")
+                        .file(file)
+                        .param("mode", "BATCH")
+                        .param("uploadId", "upload-1"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        UploadFileResponse uploadFileResponse = objectMapper.readValue(result.getResponse().getContentAsString(), UploadFileResponse.class);
+        assertThat(uploadFileResponse.getUploadId()).isEqualTo("upload-1");
+        assertThat(uploadFileResponse.getSkippedRecords()).isEqualTo(1);
+        assertThat(uploadFileResponse.getSuccessfulRecords()).isEqualTo(1);
+
+        verify(uploadCheckpointService).save("upload-1", 2, true);
+    }
+
+    @Test
+    void testUploadWithoutUploadIdIsNotCheckpointed() throws Exception {
+        String jsonContent = "[{\"name\":\"course7\",\"code\":\"CS101\",\"credits\":55,\"departments\":[\"COMPUTER_SCIENCE\"],\"instructorId\":1}]";
+        MockMultipartFile file = new MockMultipartFile("file", "test.json", "application/json", jsonContent.getBytes());
+        when(courseService.findExistingInstructorIds(anyCollection())).thenReturn(Set.of(1L));
+        when(courseService.createCourses(anyList())).thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.multipart("/api/course/upload")
+                        .file(file)
+                        .param("mode", "BATCH"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        UploadFileResponse uploadFileResponse = objectMapper.readValue(result.getResponse().getContentAsString(), UploadFileResponse.class);
+        assertThat(uploadFileResponse.getUploadId()).isNull();
+        assertThat(uploadFileResponse.getSuccessfulRecords()).isEqualTo(1);
+
+        verifyNoInteractions(uploadCheckpointService);
+    }
+
+    @Test
+    void testUpsertCoursesInBulk() throws Exception {
+        String jsonContent = "[{\"name\":\"course7\",\"code\":\"CS101\",\"credits\":55,\"departments\":[\"COMPUTER_SCIENCE\"],\"instructorId\":1},"
+                + "{\"name\":\"course8\",\"code\":\"CS102\",\"credits\":50,\"departments\":[\"MATHEMATICS\"],\"instructorId\":1},"
+                + "{\"name\":\"course9\",\"credits\":50,\"departments\":[\"MATHEMATICS\"],\"instructorId\":1}]";
+        when(courseService.findExistingInstructorIds(anyCollection())).thenReturn(Set.of(1L));
+        when(courseService.upsertCourses(anyList())).thenReturn(new UpsertResult(0, 1, 1, List.of(7L)));
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.put("/api/course/_bulk")
+                        .contentType("application/json")
+                        .content(jsonContent))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        UploadFileResponse uploadFileResponse = objectMapper.readValue(result.getResponse().getContentAsString(), UploadFileResponse.class);
+        assertThat(uploadFileResponse.getSuccessfulRecords()).isEqualTo(2);
+        assertThat(uploadFileResponse.getUpdatedRecords()).isEqualTo(1);
+        assertThat(uploadFileResponse.getUnchangedRecords()).isEqualTo(1);
+        assertThat(uploadFileResponse.getFailedRecords()).isEqualTo(1);
+
+        verify(courseService, times(1)).upsertCourses(anyList());
+        verify(courseService, never()).findExistingCodes(anyCollection());
+    }
+}
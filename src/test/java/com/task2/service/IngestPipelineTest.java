@@ -0,0 +1,117 @@
+package com.task2.service;
+
+import com.task2.model.dto.CourseDto;
+import com.task2.model.dto.UploadStageStats;
+import com.task2.util.CourseRecord;
+import com.task2.util.CourseRecordReader;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class IngestPipelineTest {
+
+    @Test
+    void testRunWritesValidRecordsAndRejectsTheRest() throws IOException {
+        List<Long> written = Collections.synchronizedList(new ArrayList<>());
+        UploadProgress progress = new UploadProgress(100);
+        IngestPipeline pipeline = new IngestPipeline(new SimpleAsyncTaskExecutor(), new SimpleAsyncTaskExecutor(), 3, 4);
+
+        pipeline.run(reader(1000), courseDto -> courseDto.getCredits() % 10 == 0 ? "credits: invalid" : null,
+                new CollectingSink(written, progress), progress);
+
+        assertThat(progress.getProcessed()).isEqualTo(1000);
+        assertThat(progress.getSuccessful()).isEqualTo(900);
+        assertThat(progress.getFailed()).isEqualTo(100);
+        assertThat(written).hasSize(900).doesNotHaveDuplicates();
+        assertThat(pipeline.getStats())
+                .extracting(UploadStageStats::getStage, UploadStageStats::getRecords)
+                .containsExactly(
+                        tuple("parse", 1000L),
+                        tuple("validate", 1000L),
+                        tuple("write", 900L));
+    }
+
+    @Test
+    void testRunStopsWhenTheWriterFails() {
+        UploadProgress progress = new UploadProgress(100);
+        IngestPipeline pipeline = new IngestPipeline(new SimpleAsyncTaskExecutor(), new SimpleAsyncTaskExecutor(), 2, 4);
+        CourseSink failingSink = new CourseSink() {
+            @Override
+            public void write(long index, CourseDto courseDto) throws IOException {
+                throw new IOException("disk full");
+            }
+
+            @Override
+            public void finish() {
+            }
+        };
+
+        assertThatThrownBy(() -> pipeline.run(reader(1000), courseDto -> null, failingSink, progress))
+                .isInstanceOf(IOException.class)
+                .hasMessage("disk full");
+        assertThat(progress.getProcessed()).isLessThan(1000);
+    }
+
+    @Test
+    void testRunResumesAfterCheckpointAndSavesIt() throws IOException {
+        List<Long> written = Collections.synchronizedList(new ArrayList<>());
+        UploadCheckpointService checkpoints = mock(UploadCheckpointService.class);
+        UploadProgress progress = new UploadProgress(100, "upload-1", 400, checkpoints, 0);
+        IngestPipeline pipeline = new IngestPipeline(new SimpleAsyncTaskExecutor(), new SimpleAsyncTaskExecutor(), 2, 4);
+
+        pipeline.run(reader(1000), courseDto -> null, new CollectingSink(written, progress), progress);
+
+        assertThat(progress.getSkipped()).isEqualTo(400);
+        assertThat(progress.getProcessed()).isEqualTo(600);
+        assertThat(written).hasSize(600).allMatch(index -> index >= 400);
+        verify(checkpoints).save("upload-1", 1000, true);
+    }
+
+    private static CourseRecordReader reader(int size) {
+        return new CourseRecordReader() {
+            private long next;
+
+            @Override
+            public CourseRecord next() {
+                if (next == size) {
+                    return null;
+                }
+                CourseDto courseDto = new CourseDto();
+                courseDto.setCredits((int) next);
+                return CourseRecord.of(next++, courseDto);
+            }
+
+            @Override
+            public long getNextIndex() {
+                return next;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    private record CollectingSink(List<Long> written, UploadProgress progress) implements CourseSink {
+
+        @Override
+        public void write(long index, CourseDto courseDto) {
+            written.add(index);
+            progress.recordSuccess(index);
+        }
+
+        @Override
+        public void finish() {
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.task2.service;
+
+import com.task2.exception.ReportNotReadyException;
+import com.task2.model.constant.ReportFileState;
+import com.task2.model.dto.CourseFilterRequest;
+import com.task2.model.dto.ReportFileStatus;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ReportFileServiceTest {
+
+    @Autowired
+    private ReportFileService reportFileService;
+
+    @MockBean
+    private CourseService courseService;
+
+    @Test
+    void testSubmitSpoolsReportToFile() throws Exception {
+        byte[] reportData = "Name,Instructor id\r\ncourse7,1\r\n".getBytes();
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write(reportData);
+            return null;
+        }).when(courseService).writeCourseReport(any(CourseFilterRequest.class), any(OutputStream.class));
+
+        ReportFileStatus submitted = reportFileService.submit(new CourseFilterRequest());
+        ReportFileStatus status = awaitFinished(submitted.getReportId());
+
+        assertThat(status.getState()).isEqualTo(ReportFileState.COMPLETED);
+        assertThat(status.getSize()).isEqualTo(reportData.length);
+        assertThat(status.getExpiresAt()).isAfter(status.getFinishedAt());
+        try (ReportDownload download = reportFileService.openDownload(submitted.getReportId())) {
+            assertThat(Files.readAllBytes(download.getFile())).isEqualTo(reportData);
+        }
+    }
+
+    @Test
+    void testFailedReportCannotBeDownloaded() throws Exception {
+        doThrow(new IllegalStateException("database is down"))
+                .when(courseService).writeCourseReport(any(CourseFilterRequest.class), any(OutputStream.class));
+
+        ReportFileStatus submitted = reportFileService.submit(new CourseFilterRequest());
+        ReportFileStatus status = awaitFinished(submitted.getReportId());
+
+        assertThat(status.getState()).isEqualTo(ReportFileState.FAILED);
+        assertThat(status.getError()).isEqualTo("database is down");
+        assertThatThrownBy(() -> reportFileService.openDownload(submitted.getReportId()))
+                .isInstanceOf(ReportNotReadyException.class);
+    }
+
+    @Test
+    void testExpiredReportIsKeptWhileDownloading() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("Name\r\ncourse7\r\n".getBytes());
+            return null;
+        }).when(courseService).writeCourseReport(any(CourseFilterRequest.class), any(OutputStream.class));
+        ReportFileStatus submitted = reportFileService.submit(new CourseFilterRequest());
+        awaitFinished(submitted.getReportId());
+
+        Duration ttl = (Duration) ReflectionTestUtils.getField(reportFileService, "ttl");
+        try {
+            Path file;
+            try (ReportDownload download = reportFileService.openDownload(submitted.getReportId())) {
+                file = download.getFile();
+                ReflectionTestUtils.setField(reportFileService, "ttl", Duration.ofMillis(-1));
+                reportFileService.pruneExpiredReports();
+                assertThat(file).exists();
+            }
+            reportFileService.pruneExpiredReports();
+            assertThat(file).doesNotExist();
+            assertThatThrownBy(() -> reportFileService.getStatus(submitted.getReportId()))
+                    .isInstanceOf(EntityNotFoundException.class);
+        } finally {
+            ReflectionTestUtils.setField(reportFileService, "ttl", ttl);
+        }
+    }
+
+    @Test
+    void testUnknownReport() {
+        assertThatThrownBy(() -> reportFileService.getStatus("missing"))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    private ReportFileStatus awaitFinished(String reportId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            ReportFileStatus status = reportFileService.getStatus(reportId);
+            if (status.getFinishedAt() != null) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Report " + reportId + " did not finish");
+    }
+}
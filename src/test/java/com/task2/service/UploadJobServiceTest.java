@@ -0,0 +1,85 @@
+package com.task2.service;
+
+import com.task2.exception.InvalidUploadRequestException;
+import com.task2.model.constant.IngestMode;
+import com.task2.model.constant.UploadJobState;
+import com.task2.model.dto.CourseDto;
+import com.task2.model.dto.UploadJobStatus;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class UploadJobServiceTest {
+
+    @Autowired
+    private UploadJobService uploadJobService;
+
+    @MockBean
+    private CourseService courseService;
+
+    @Test
+    void testSubmitProcessesFileInBackground() throws Exception {
+        String jsonContent = "[{\"name\":\"course7\",\"code\":\"CS101\",\"credits\":55,\"departments\":[\"COMPUTER_SCIENCE\"],\"instructorId\":1},"
+                + "{\"name\":\"course7\",\"code\":\"CS102\",\"credits\":\"invalid\",\"departments\":[\"COMPUTER_SCIENCE\"],\"instructorId\":1}]";
+        MockMultipartFile file = new MockMultipartFile("file", "test.json", "application/json", jsonContent.getBytes());
+
+        UploadJobStatus submitted = uploadJobService.submit(file, IngestMode.RECORD, null);
+        assertThat(submitted.getJobId()).isNotBlank();
+
+        UploadJobStatus status = awaitFinished(submitted.getJobId());
+        assertThat(status.getState()).isEqualTo(UploadJobState.COMPLETED);
+        assertThat(status.getProcessedRecords()).isEqualTo(2);
+        assertThat(status.getSuccessfulRecords()).isEqualTo(1);
+        assertThat(status.getFailedRecords()).isEqualTo(1);
+        assertThat(status.getRecordsPerSecond()).isNotNull();
+
+        verify(courseService, times(1)).createCourse(any(CourseDto.class));
+    }
+
+    @Test
+    void testRetryWithAnotherFileOfTheSameSizeIsRejected() throws Exception {
+        String uploadId = "retry-" + UUID.randomUUID();
+        String jsonContent = "[{\"name\":\"course7\",\"code\":\"CS101\",\"credits\":55,\"departments\":[\"COMPUTER_SCIENCE\"],\"instructorId\":1}]";
+        MockMultipartFile file = new MockMultipartFile("file", "test.json", "application/json", jsonContent.getBytes());
+        MockMultipartFile otherFile = new MockMultipartFile("file", "test.json", "application/json",
+                jsonContent.replace("CS101", "CS102").getBytes());
+
+        awaitFinished(uploadJobService.submit(file, IngestMode.RECORD, uploadId).getJobId());
+
+        assertThat(awaitFinished(uploadJobService.submit(file, IngestMode.RECORD, uploadId).getJobId()).getSkippedRecords())
+                .isEqualTo(1);
+        assertThatThrownBy(() -> uploadJobService.submit(otherFile, IngestMode.RECORD, uploadId))
+                .isInstanceOf(InvalidUploadRequestException.class);
+    }
+
+    @Test
+    void testUnknownJob() {
+        assertThatThrownBy(() -> uploadJobService.getStatus("missing"))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    private UploadJobStatus awaitFinished(String jobId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            UploadJobStatus status = uploadJobService.getStatus(jobId);
+            if (status.getFinishedAt() != null) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Upload job " + jobId + " did not finish");
+    }
+}
@@ -0,0 +1,51 @@
+package com.task2.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AdaptiveBatchSizerTest {
+
+    @Test
+    void testGrowsWhileCommitsAreFast() {
+        AdaptiveBatchSizer batchSizer = new AdaptiveBatchSizer(100, 50, 1000, 500);
+
+        batchSizer.recordCommit(100, 50);
+        assertThat(batchSizer.getBatchSize()).isEqualTo(200);
+
+        batchSizer.recordCommit(200, 50);
+        batchSizer.recordCommit(400, 50);
+        batchSizer.recordCommit(800, 50);
+        assertThat(batchSizer.getBatchSize()).isEqualTo(1000);
+    }
+
+    @Test
+    void testShrinksWhenCommitIsSlow() {
+        AdaptiveBatchSizer batchSizer = new AdaptiveBatchSizer(400, 50, 1000, 500);
+
+        batchSizer.recordCommit(400, 900);
+        assertThat(batchSizer.getBatchSize()).isEqualTo(200);
+
+        batchSizer.recordCommit(200, 900);
+        batchSizer.recordCommit(100, 900);
+        assertThat(batchSizer.getBatchSize()).isEqualTo(50);
+    }
+
+    @Test
+    void testKeepsSizeForPartialChunkOrLatencyNearTarget() {
+        AdaptiveBatchSizer batchSizer = new AdaptiveBatchSizer(100, 50, 1000, 500);
+
+        batchSizer.recordCommit(30, 10);
+        assertThat(batchSizer.getBatchSize()).isEqualTo(100);
+
+        batchSizer.recordCommit(100, 400);
+        assertThat(batchSizer.getBatchSize()).isEqualTo(100);
+    }
+
+    @Test
+    void testRejectsInvalidBounds() {
+        assertThatThrownBy(() -> new AdaptiveBatchSizer(100, 500, 50, 500))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
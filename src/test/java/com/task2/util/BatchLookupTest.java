@@ -0,0 +1,38 @@
+package com.task2.util;
+
+import com.task2.exception.InvalidBatchRequestException;
+import com.task2.model.dto.BatchResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BatchLookupTest {
+
+    @Test
+    void testDistinctIdsKeepsRequestOrder() {
+        assertThat(BatchLookup.distinctIds(List.of(5L, 1L, 5L, 3L), 4)).containsExactly(5L, 1L, 3L);
+    }
+
+    @Test
+    void testDistinctIdsRejectsTooManyOrNullIds() {
+        assertThatThrownBy(() -> BatchLookup.distinctIds(List.of(1L, 2L, 3L), 2))
+                .isInstanceOf(InvalidBatchRequestException.class);
+        assertThatThrownBy(() -> BatchLookup.distinctIds(Arrays.asList(1L, null), 2))
+                .isInstanceOf(InvalidBatchRequestException.class);
+        assertThatThrownBy(() -> BatchLookup.distinctIds(null, 2))
+                .isInstanceOf(InvalidBatchRequestException.class);
+    }
+
+    @Test
+    void testInRequestOrderReportsMissingIdsOnce() {
+        BatchResponse<String> response = BatchLookup.inRequestOrder(List.of(3L, 9L, 1L, 9L, 3L), Map.of(1L, "one", 3L, "three"));
+
+        assertThat(response.getItems()).containsExactly("three", null, "one", null, "three");
+        assertThat(response.getMissingIds()).containsExactly(9L);
+    }
+}
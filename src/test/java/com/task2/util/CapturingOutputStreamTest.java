@@ -0,0 +1,36 @@
+package com.task2.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CapturingOutputStreamTest {
+
+    @Test
+    void testCapturesWhatFits() throws IOException {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        CapturingOutputStream stream = new CapturingOutputStream(target, 8);
+
+        stream.write("abc".getBytes());
+        stream.write('d');
+
+        assertThat(target.toString()).isEqualTo("abcd");
+        assertThat(stream.getCapture()).isEqualTo("abcd".getBytes());
+    }
+
+    @Test
+    void testDropsCaptureOverLimit() throws IOException {
+        ByteArrayOutputStream target = new ByteArrayOutputStream();
+        CapturingOutputStream stream = new CapturingOutputStream(target, 4);
+
+        stream.write("abc".getBytes());
+        stream.write("def".getBytes());
+        stream.write('g');
+
+        assertThat(target.toString()).isEqualTo("abcdefg");
+        assertThat(stream.getCapture()).isNull();
+    }
+}
@@ -0,0 +1,38 @@
+package com.task2.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ContiguousWatermarkTest {
+
+    @Test
+    void testAdvancesOnlyOverResolvedPrefix() {
+        ContiguousWatermark watermark = new ContiguousWatermark(0);
+
+        watermark.resolve(1);
+        watermark.resolve(2);
+        assertThat(watermark.get()).isEqualTo(0);
+
+        watermark.resolve(0);
+        assertThat(watermark.get()).isEqualTo(3);
+
+        watermark.resolve(5);
+        watermark.resolve(3);
+        assertThat(watermark.get()).isEqualTo(4);
+
+        watermark.resolve(4);
+        assertThat(watermark.get()).isEqualTo(6);
+    }
+
+    @Test
+    void testIgnoresIndexesBeforeStart() {
+        ContiguousWatermark watermark = new ContiguousWatermark(10);
+
+        watermark.resolve(3);
+        assertThat(watermark.get()).isEqualTo(10);
+
+        watermark.resolve(10);
+        assertThat(watermark.get()).isEqualTo(11);
+    }
+}
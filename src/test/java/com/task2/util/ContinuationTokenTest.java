@@ -0,0 +1,35 @@
+package com.task2.util;
+
+import com.task2.exception.InvalidContinuationTokenException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ContinuationTokenTest {
+
+    @Test
+    void testRoundTrip() {
+        ContinuationToken token = new ContinuationToken("name", "Intro | part 1", 42);
+
+        String encoded = token.encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+        assertThat(ContinuationToken.decode(encoded)).isEqualTo(token);
+    }
+
+    @Test
+    void testRoundTripWithoutKey() {
+        ContinuationToken token = new ContinuationToken("id", null, 7);
+
+        assertThat(ContinuationToken.decode(token.encode())).isEqualTo(token);
+    }
+
+    @Test
+    void testRejectsForeignToken() {
+        assertThatThrownBy(() -> ContinuationToken.decode("not a token"))
+                .isInstanceOf(InvalidContinuationTokenException.class);
+        assertThatThrownBy(() -> ContinuationToken.decode("aWQ"))
+                .isInstanceOf(InvalidContinuationTokenException.class);
+    }
+}
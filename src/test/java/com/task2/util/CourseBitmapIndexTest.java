@@ -0,0 +1,88 @@
+package com.task2.util;
+
+import com.task2.model.constant.Department;
+import com.task2.util.CourseBitmapIndex.Entry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CourseBitmapIndexTest {
+
+    private static final int CS = DepartmentConverter.toMask(Set.of(Department.COMPUTER_SCIENCE));
+    private static final int CS_MATH = DepartmentConverter.toMask(Set.of(Department.COMPUTER_SCIENCE, Department.MATHEMATICS));
+
+    private CourseBitmapIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CourseBitmapIndex();
+        for (long id = 1; id <= 10; id++) {
+            index.put(id, "course" + id, "C" + id, null, id % 2 == 0 ? 4 : 3, id <= 5 ? CS_MATH : CS, id % 3 == 0 ? 7L : 8L);
+        }
+    }
+
+    @Test
+    void testIntersectsPostings() {
+        assertThat(ids(index.find(8L, 3, CS_MATH, null, true, 0, 100))).containsExactly(1L, 5L);
+        assertThat(index.count(8L, 3, CS_MATH)).isEqualTo(2);
+        assertThat(index.count(null, null, 0)).isEqualTo(10);
+        assertThat(index.count(99L, null, 0)).isZero();
+        assertThat(index.find(null, null, CS, null, true, 0, 1).get(0).course().getDepartments())
+                .containsExactlyInAnyOrder(Department.COMPUTER_SCIENCE, Department.MATHEMATICS);
+    }
+
+    @Test
+    void testPagesByOffsetAndKeysetInBothDirections() {
+        assertThat(ids(index.find(null, 4, 0, null, true, 1, 2))).containsExactly(4L, 6L);
+        assertThat(ids(index.find(null, 4, 0, null, false, 1, 2))).containsExactly(8L, 6L);
+        assertThat(ids(index.find(null, 4, 0, 4L, true, 0, 10))).containsExactly(6L, 8L, 10L);
+        assertThat(ids(index.find(null, 4, 0, 6L, false, 0, 10))).containsExactly(4L, 2L);
+        assertThat(ids(index.find(null, 4, 0, 10L, true, 0, 10))).isEmpty();
+    }
+
+    @Test
+    void testReplacesInPlaceAndRemoves() {
+        index.put(2, "renamed", "C2", null, 3, CS, 7L);
+        index.remove(5);
+
+        assertThat(ids(index.find(null, 4, 0, null, true, 0, 10))).containsExactly(4L, 6L, 8L, 10L);
+        assertThat(ids(index.find(7L, 3, 0, null, true, 0, 10))).containsExactly(2L, 3L, 9L);
+        assertThat(index.find(7L, 3, 0, null, true, 0, 1).get(0).course().getName()).isEqualTo("renamed");
+        assertThat(index.size()).isEqualTo(9);
+    }
+
+    @Test
+    void testKeepsIdOrderWhenInsertedOutOfIdOrder() {
+        index.remove(4);
+        index.put(4, "course4", "C4", null, 4, CS, 8L);
+        index.put(12, "course12", "C12", null, 4, CS, 8L);
+        index.put(11, "course11", "C11", null, 4, CS, 8L);
+
+        assertThat(ids(index.find(null, 4, 0, null, true, 0, 10))).containsExactly(2L, 4L, 6L, 8L, 10L, 11L, 12L);
+        assertThat(ids(index.find(null, 4, 0, 8L, false, 1, 2))).containsExactly(4L, 2L);
+        assertThat(ids(index.find(8L, 4, CS, 10L, true, 0, 10))).containsExactly(11L, 12L);
+        assertThat(ids(index.find(null, null, 0, null, false, 0, 3))).containsExactly(12L, 11L, 10L);
+        assertThat(index.count(8L, 4, CS)).isEqualTo(6);
+    }
+
+    @Test
+    void testReusesSlotsOfRemovedCourses() {
+        for (long id = 1; id <= 10; id++) {
+            index.remove(id);
+        }
+        index.put(20, "course20", "C20", null, 3, CS, 7L);
+        index.put(15, "course15", "C15", null, 3, CS, 7L);
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(ids(index.find(7L, null, 0, null, true, 0, 10))).containsExactly(15L, 20L);
+        assertThat(index.count(null, null, CS_MATH)).isZero();
+    }
+
+    private static List<Long> ids(List<Entry> entries) {
+        return entries.stream().map(Entry::id).toList();
+    }
+}
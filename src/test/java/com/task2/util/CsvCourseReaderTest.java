@@ -0,0 +1,82 @@
+package com.task2.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task2.model.constant.Department;
+import com.task2.model.dto.CourseDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CsvCourseReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private CsvCourseReader reader(String csv) throws IOException {
+        return new CsvCourseReader(new StringReader(csv), objectMapper.readerFor(CourseDto.class));
+    }
+
+    @Test
+    void testReadsEveryRow() throws IOException {
+        try (CsvCourseReader reader = reader("name,code,description,credits,departments,instructorId\n"
+                + "course1,CS101,\"Intro, part 1\",5,\"COMPUTER_SCIENCE,MATHEMATICS\",1\n"
+                + "\n"
+                + "course2,CS102,,7,MATHEMATICS,2\n")) {
+            CourseRecord first = reader.next();
+            assertThat(first.index()).isEqualTo(0);
+            assertThat(first.course().getDescription()).isEqualTo("Intro, part 1");
+            assertThat(first.course().getCredits()).isEqualTo(5);
+            assertThat(first.course().getDepartments()).containsExactlyInAnyOrder(Department.COMPUTER_SCIENCE, Department.MATHEMATICS);
+            assertThat(first.course().getInstructorId()).isEqualTo(1L);
+
+            CourseRecord second = reader.next();
+            assertThat(second.index()).isEqualTo(1);
+            assertThat(second.course().getCode()).isEqualTo("CS102");
+            assertThat(second.course().getDescription()).isNull();
+
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void testAcceptsReportHeader() throws IOException {
+        try (CsvCourseReader reader = reader("Name,Instructor id,Department,Description,Credits,Course Code\n"
+                + "course1,3,MATHEMATICS,something,5,CS101\n")) {
+            CourseDto course = reader.next().course();
+            assertThat(course.getCode()).isEqualTo("CS101");
+            assertThat(course.getInstructorId()).isEqualTo(3L);
+            assertThat(course.getDepartments()).containsExactly(Department.MATHEMATICS);
+        }
+    }
+
+    @Test
+    void testRejectsRowThatCannotBeBound() throws IOException {
+        try (CsvCourseReader reader = reader("code,credits,departments\nCS101,many,MATHEMATICS\nCS102,5,UNKNOWN\nCS103,5,MATHEMATICS\n")) {
+            CourseRecord invalidCredits = reader.next();
+            assertThat(invalidCredits.isRejected()).isTrue();
+            assertThat(invalidCredits.error()).startsWith("credits: ");
+
+            CourseRecord invalidDepartment = reader.next();
+            assertThat(invalidDepartment.isRejected()).isTrue();
+            assertThat(invalidDepartment.error()).startsWith("departments.0: ");
+
+            assertThat(reader.next().course().getCode()).isEqualTo("CS103");
+        }
+    }
+
+    @Test
+    void testFailsWithoutCodeColumn() {
+        assertThatThrownBy(() -> reader("title,credits\ncourse1,5\n"))
+                .isInstanceOf(MalformedUploadException.class);
+    }
+
+    @Test
+    void testFailsOnUnterminatedQuote() throws IOException {
+        try (CsvCourseReader reader = reader("code,name\nCS101,\"unterminated\n")) {
+            assertThatThrownBy(reader::next).isInstanceOf(MalformedUploadException.class);
+        }
+    }
+}
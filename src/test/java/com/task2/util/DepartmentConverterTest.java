@@ -0,0 +1,38 @@
+package com.task2.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static com.task2.model.constant.Department.COMPUTER_SCIENCE;
+import static com.task2.model.constant.Department.ELECTRONICS;
+import static com.task2.model.constant.Department.MATHEMATICS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DepartmentConverterTest {
+
+    private final DepartmentConverter converter = new DepartmentConverter();
+
+    @Test
+    void testEncodesOneBitPerDepartment() {
+        assertThat(converter.convertToDatabaseColumn(Set.of())).isZero();
+        assertThat(converter.convertToDatabaseColumn(Set.of(COMPUTER_SCIENCE))).isEqualTo(1);
+        assertThat(converter.convertToDatabaseColumn(Set.of(MATHEMATICS, COMPUTER_SCIENCE))).isEqualTo(5);
+        assertThat(DepartmentConverter.toMask(null)).isZero();
+    }
+
+    @Test
+    void testDecodesMask() {
+        assertThat(converter.convertToEntityAttribute(6)).isEqualTo(EnumSet.of(ELECTRONICS, MATHEMATICS));
+        assertThat(converter.convertToEntityAttribute(0)).isEmpty();
+        assertThat(converter.convertToEntityAttribute(null)).isEmpty();
+        assertThat(DepartmentConverter.fromMask(1 | 1 << 20)).containsExactly(COMPUTER_SCIENCE);
+    }
+
+    @Test
+    void testFormatsNamesInDeclarationOrder() {
+        assertThat(DepartmentConverter.toNames(7)).isEqualTo("COMPUTER_SCIENCE,ELECTRONICS,MATHEMATICS");
+        assertThat(DepartmentConverter.toNames(0)).isEmpty();
+    }
+}
@@ -0,0 +1,93 @@
+package com.task2.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task2.model.dto.CourseDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JsonArrayCourseReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private JsonArrayCourseReader reader(String json) throws IOException {
+        return new JsonArrayCourseReader(objectMapper.getFactory().createParser(new StringReader(json)), objectMapper.readerFor(CourseDto.class));
+    }
+
+    @Test
+    void testReadsEveryElement() throws IOException {
+        try (JsonArrayCourseReader reader = reader("[{\"name\":\"course1\",\"code\":\"CS101\",\"credits\":5,\"departments\":[\"MATHEMATICS\"],\"instructorId\":1},{\"name\":\"course2\",\"code\":\"CS102\"}]")) {
+            CourseRecord first = reader.next();
+            assertThat(first.index()).isEqualTo(0);
+            assertThat(first.course().getCode()).isEqualTo("CS101");
+            assertThat(first.course().getInstructorId()).isEqualTo(1L);
+
+            CourseRecord second = reader.next();
+            assertThat(second.index()).isEqualTo(1);
+            assertThat(second.course().getName()).isEqualTo("course2");
+
+            assertThat(reader.next()).isNull();
+            assertThat(reader.getNextIndex()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void testContinuesAfterElementThatCannotBeBound() throws IOException {
+        try (JsonArrayCourseReader reader = reader("[{\"code\":\"CS101\",\"credits\":\"invalid\",\"departments\":[\"MATHEMATICS\"],\"description\":\"skipped\"},"
+                + "{\"code\":\"CS102\",\"departments\":[\"UNKNOWN\", \"MATHEMATICS\"],\"instructorId\":1},"
+                + "42,"
+                + "{\"code\":\"CS103\"}]")) {
+            CourseRecord invalidCredits = reader.next();
+            assertThat(invalidCredits.isRejected()).isTrue();
+            assertThat(invalidCredits.index()).isEqualTo(0);
+            assertThat(invalidCredits.error()).startsWith("credits: ");
+
+            CourseRecord invalidDepartment = reader.next();
+            assertThat(invalidDepartment.isRejected()).isTrue();
+            assertThat(invalidDepartment.index()).isEqualTo(1);
+            assertThat(invalidDepartment.error()).startsWith("departments.0: ");
+
+            CourseRecord notAnObject = reader.next();
+            assertThat(notAnObject.isRejected()).isTrue();
+            assertThat(notAnObject.index()).isEqualTo(2);
+
+            CourseRecord valid = reader.next();
+            assertThat(valid.isRejected()).isFalse();
+            assertThat(valid.index()).isEqualTo(3);
+            assertThat(valid.course().getCode()).isEqualTo("CS103");
+
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void testRejectsInputThatIsNotAnArray() throws IOException {
+        try (JsonArrayCourseReader reader = reader("{\"code\":\"CS101\"}")) {
+            assertThatThrownBy(reader::next).isInstanceOf(IOException.class);
+        }
+    }
+
+    @Test
+    void testEmptyInput() throws IOException {
+        try (JsonArrayCourseReader reader = reader("")) {
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void testSkipsElementsWithoutBindingThem() throws IOException {
+        try (JsonArrayCourseReader reader = reader("[{\"code\":\"CS101\",\"credits\":\"invalid\"},{\"code\":\"CS102\",\"departments\":[\"MATHEMATICS\"]},{\"code\":\"CS103\"}]")) {
+            assertThat(reader.skip(2)).isEqualTo(2);
+
+            CourseRecord third = reader.next();
+            assertThat(third.index()).isEqualTo(2);
+            assertThat(third.course().getCode()).isEqualTo("CS103");
+
+            assertThat(reader.skip(5)).isEqualTo(0);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.task2.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.task2.model.dto.CourseDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NdjsonCourseReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private NdjsonCourseReader reader(String ndjson) {
+        return new NdjsonCourseReader(new BufferedReader(new StringReader(ndjson)), objectMapper.readerFor(CourseDto.class));
+    }
+
+    @Test
+    void testReadsEveryLineAndSkipsBlankOnes() throws IOException {
+        try (NdjsonCourseReader reader = reader("{\"name\":\"course1\",\"code\":\"CS101\",\"instructorId\":1}\n\n{\"code\":\"CS102\"}\n")) {
+            CourseRecord first = reader.next();
+            assertThat(first.index()).isEqualTo(0);
+            assertThat(first.course().getInstructorId()).isEqualTo(1L);
+
+            CourseRecord second = reader.next();
+            assertThat(second.index()).isEqualTo(1);
+            assertThat(second.course().getCode()).isEqualTo("CS102");
+
+            assertThat(reader.next()).isNull();
+            assertThat(reader.getNextIndex()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void testMalformedLineOnlyRejectsItself() throws IOException {
+        try (NdjsonCourseReader reader = reader("{\"code\":\"CS101\",\n{\"code\":\"CS102\",\"credits\":\"many\"}\n{\"code\":\"CS103\"}")) {
+            CourseRecord malformed = reader.next();
+            assertThat(malformed.isRejected()).isTrue();
+            assertThat(malformed.error()).startsWith("Malformed JSON: ");
+
+            CourseRecord invalidCredits = reader.next();
+            assertThat(invalidCredits.isRejected()).isTrue();
+            assertThat(invalidCredits.error()).startsWith("credits: ");
+
+            assertThat(reader.next().course().getCode()).isEqualTo("CS103");
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.task2.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrefixIndexTest {
+
+    @Test
+    void testFindsByPrefixOfTextOrWordIgnoringCase() {
+        PrefixIndex<String> index = new PrefixIndex<>();
+        index.put("course:1", "MA201 - Linear Algebra", List.of("MA201", "Linear  Algebra"));
+        index.put("course:2", "CS101 - Algorithms", List.of("CS101", "Algorithms"));
+        index.put("instructor:1", "Ada Lovelace", List.of("Ada Lovelace"));
+
+        assertThat(index.find("alg", 10)).containsExactly("MA201 - Linear Algebra", "CS101 - Algorithms");
+        assertThat(index.find("LINEAR al", 10)).containsExactly("MA201 - Linear Algebra");
+        assertThat(index.find("ma2", 10)).containsExactly("MA201 - Linear Algebra");
+        assertThat(index.find("gebra", 10)).isEmpty();
+        assertThat(index.find("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void testReturnsEachEntryOnceUpToLimit() {
+        PrefixIndex<String> index = new PrefixIndex<>();
+        index.put("course:1", "one", List.of("data", "data structures"));
+        index.put("course:2", "two", List.of("databases"));
+        index.put("course:3", "three", List.of("datasets"));
+
+        assertThat(index.find("data", 10)).containsExactly("one", "two", "three");
+        assertThat(index.find("data", 2)).containsExactly("one", "two");
+    }
+
+    @Test
+    void testPutReplacesAndRemoveDropsEntry() {
+        PrefixIndex<String> index = new PrefixIndex<>();
+        index.put("course:1", "old", List.of("Physics"));
+        index.put("course:1", "new", List.of("Chemistry"));
+
+        assertThat(index.find("phy", 10)).isEmpty();
+        assertThat(index.find("chem", 10)).containsExactly("new");
+        assertThat(index.size()).isEqualTo(1);
+
+        index.remove("course:1");
+        assertThat(index.find("chem", 10)).isEmpty();
+        assertThat(index.keys()).isEmpty();
+    }
+}